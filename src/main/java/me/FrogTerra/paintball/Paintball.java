@@ -6,11 +6,15 @@ import me.FrogTerra.paintball.command.ArenaCommand;
 import me.FrogTerra.paintball.game.GameManager;
 import me.FrogTerra.paintball.item.ItemRegistery;
 import me.FrogTerra.paintball.listener.ArenaEditorListener;
+import me.FrogTerra.paintball.listener.ArenaListener;
+import me.FrogTerra.paintball.listener.GameListener;
 import me.FrogTerra.paintball.listener.PlayerListener;
 import me.FrogTerra.paintball.player.PlayerManager;
 import me.FrogTerra.paintball.utility.LevelManager;
 import me.FrogTerra.paintball.utility.LobbyManager;
 import me.FrogTerra.paintball.utility.MessageUtils;
+import me.FrogTerra.paintball.utility.TeleportPipeline;
+import me.FrogTerra.paintball.utility.TimingWheel;
 import me.FrogTerra.paintball.utility.WorldManager;
 import net.luckperms.api.LuckPerms;
 import org.bukkit.Bukkit;
@@ -29,6 +33,8 @@ public final class Paintball extends JavaPlugin {
     @Getter private PlayerManager playerManager;
     @Getter private ArenaManager arenaManager;
     @Getter private GameManager gameManager;
+    @Getter private TimingWheel timingWheel;
+    @Getter private TeleportPipeline teleportPipeline;
 
     @Getter
     private LobbyManager lobbyManager;
@@ -45,6 +51,9 @@ public final class Paintball extends JavaPlugin {
         try {
             // Plugin startup logic
             initializeLuckPerms();
+            timingWheel = new TimingWheel(this);
+            timingWheel.start();
+            teleportPipeline = new TeleportPipeline(this);
             itemRegistery = new ItemRegistery(this);
             worldManager = new WorldManager(this);
             playerManager = new PlayerManager(this);
@@ -61,6 +70,8 @@ public final class Paintball extends JavaPlugin {
             PluginManager pm = Bukkit.getServer().getPluginManager();
             pm.registerEvents(new PlayerListener(this), this);
             pm.registerEvents(new ArenaEditorListener(this), this);
+            pm.registerEvents(new ArenaListener(this), this);
+            pm.registerEvents(new GameListener(this), this);
             this.getLogger().info("Listeners Registered!");
 
         } catch (Exception exception) {
@@ -72,6 +83,9 @@ public final class Paintball extends JavaPlugin {
     @Override
     public void onDisable() {
         // Plugin shutdown logic
+        if (timingWheel != null) {
+            timingWheel.stop();
+        }
 
         getWorldManager().cleanup();
     }
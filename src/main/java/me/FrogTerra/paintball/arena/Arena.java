@@ -1,14 +1,14 @@
 package me.FrogTerra.paintball.arena;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import me.FrogTerra.paintball.game.Gamemode;
 import org.bukkit.Location;
+import org.bukkit.World;
 
-import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 /**
@@ -30,22 +30,10 @@ public final class Arena {
     @SerializedName("compatibleGameModes")
     private Set<Gamemode> compatibleGameModes = new HashSet<>();
 
-    // Team spawn points
-    @SerializedName("redSpawns")
-    private List<Location> redSpawns = new ArrayList<>();
-    
-    @SerializedName("blueSpawns")
-    private List<Location> blueSpawns = new ArrayList<>();
-    
-    @SerializedName("freeForAllSpawns")
-    private List<Location> freeForAllSpawns = new ArrayList<>();
-
-    // Flag spawn points for Flag Rush gamemode
-    @SerializedName("redFlagSpawns")
-    private List<Location> redFlagSpawns = new ArrayList<>();
-    
-    @SerializedName("blueFlagSpawns")
-    private List<Location> blueFlagSpawns = new ArrayList<>();
+    // Team and flag spawn points, relative to the paste location
+    @SerializedName("spawns")
+    @JsonAdapter(SpawnPoints.Adapter.class)
+    private SpawnPoints spawns = new SpawnPoints();
 
     // Arena boundaries (optional)
     @SerializedName("minBoundary")
@@ -72,63 +60,54 @@ public final class Arena {
     }
 
     /**
-     * Get spawn points for a specific team
+     * Get the number of spawn points of a type
      */
-    public List<Location> getTeamSpawns(final SpawnType spawnType) {
-        return switch (spawnType) {
-            case RED_SPAWN -> this.redSpawns;
-            case BLUE_SPAWN -> this.blueSpawns;
-            case FREE_FOR_ALL_SPAWN -> this.freeForAllSpawns;
-            case RED_FLAG_SPAWN -> this.redFlagSpawns;
-            case BLUE_FLAG_SPAWN -> this.blueFlagSpawns;
-        };
+    public int getSpawnCount(final SpawnType spawnType) {
+        return this.spawns.count(spawnType);
+    }
+
+    /**
+     * Get a spawn point as a location in a world where the arena was pasted at the given offset
+     */
+    public Location getSpawnLocation(final SpawnType spawnType, final int index, final World world,
+                                     final double pasteX, final double pasteY, final double pasteZ) {
+        return this.spawns.toLocation(spawnType, index, world, pasteX, pasteY, pasteZ);
     }
 
     /**
-     * Add a spawn point for a team
+     * Add a spawn point, given relative to the paste location
      */
-    public void addSpawn(final SpawnType spawnType, final Location location) {
-        if (location == null) return;
-        
-        // Create location without world reference for storage
-        final Location spawnLocation = new Location(null, location.getX(), location.getY(), location.getZ(),
-                location.getYaw(), 0.0f); // Fixed pitch looking straight ahead
-        this.getTeamSpawns(spawnType).add(spawnLocation);
+    public void addSpawn(final SpawnType spawnType, final double x, final double y, final double z, final float yaw) {
+        this.spawns.add(spawnType, x, y, z, yaw);
     }
 
     /**
-     * Remove a spawn point
+     * Remove a spawn point, given relative to the paste location
      */
-    public boolean removeSpawn(final SpawnType spawnType, final Location location) {
-        if (location == null) return false;
-        
-        final List<Location> spawns = this.getTeamSpawns(spawnType);
-        return spawns.removeIf(spawn -> 
-            Math.abs(spawn.getX() - location.getX()) < 0.5 &&
-            Math.abs(spawn.getY() - location.getY()) < 0.5 &&
-            Math.abs(spawn.getZ() - location.getZ()) < 0.5
-        );
+    public boolean removeSpawn(final SpawnType spawnType, final double x, final double y, final double z) {
+        return this.spawns.remove(spawnType, x, y, z);
     }
 
     /**
      * Clear all spawn points for a team
      */
     public void clearSpawns(final SpawnType spawnType) {
-        this.getTeamSpawns(spawnType).clear();
+        this.spawns.clear(spawnType);
     }
 
     /**
      * Get total number of spawn points
      */
     public int getTotalSpawns() {
-        return this.redSpawns.size() + this.blueSpawns.size() + this.freeForAllSpawns.size();
+        return this.getSpawnCount(SpawnType.RED_SPAWN) + this.getSpawnCount(SpawnType.BLUE_SPAWN) +
+               this.getSpawnCount(SpawnType.FREE_FOR_ALL_SPAWN);
     }
 
     /**
      * Get total number of flag spawn points
      */
     public int getTotalFlagSpawns() {
-        return this.redFlagSpawns.size() + this.blueFlagSpawns.size();
+        return this.getSpawnCount(SpawnType.RED_FLAG_SPAWN) + this.getSpawnCount(SpawnType.BLUE_FLAG_SPAWN);
     }
 
     /**
@@ -176,12 +155,12 @@ public final class Arena {
     private boolean hasRequiredSpawns(final Gamemode gameMode) {
         return switch (gameMode) {
             case TEAM_DEATHMATCH, JUGGERNAUT -> 
-                this.redSpawns.size() >= 2 && this.blueSpawns.size() >= 2;
+                this.getSpawnCount(SpawnType.RED_SPAWN) >= 2 && this.getSpawnCount(SpawnType.BLUE_SPAWN) >= 2;
             case FREE_FOR_ALL -> 
-                this.freeForAllSpawns.size() >= gameMode.getMinPlayers();
+                this.getSpawnCount(SpawnType.FREE_FOR_ALL_SPAWN) >= gameMode.getMinPlayers();
             case FLAG_RUSH -> 
-                this.redSpawns.size() >= 2 && this.blueSpawns.size() >= 2 && 
-                this.redFlagSpawns.size() >= 1 && this.blueFlagSpawns.size() >= 1;
+                this.getSpawnCount(SpawnType.RED_SPAWN) >= 2 && this.getSpawnCount(SpawnType.BLUE_SPAWN) >= 2 && 
+                this.getSpawnCount(SpawnType.RED_FLAG_SPAWN) >= 1 && this.getSpawnCount(SpawnType.BLUE_FLAG_SPAWN) >= 1;
         };
     }
 
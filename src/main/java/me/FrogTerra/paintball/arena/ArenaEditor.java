@@ -1,5 +1,7 @@
 package me.FrogTerra.paintball.arena;
 
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.math.BlockVector3;
 import lombok.Getter;
 import me.FrogTerra.paintball.Paintball;
 import me.FrogTerra.paintball.game.Gamemode;
@@ -14,6 +16,7 @@ import org.bukkit.inventory.ItemRarity;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.LeatherArmorMeta;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 
@@ -22,12 +25,16 @@ import java.util.concurrent.CompletableFuture;
  */
 public final class ArenaEditor {
 
+    // Arenas with more blocks than this are streamed around the builder instead of pasted up front
+    private static final long STREAMING_VOLUME = 4_000_000L;
+
     private final Paintball plugin;
     
     @Getter private final Set<UUID> editingPlayers = new HashSet<>();
     @Getter private final Map<UUID, String> playerEditingArena = new HashMap<>();
     @Getter private final Map<String, Set<ArmorStand>> arenaArmorStands = new HashMap<>();
     @Getter private final Map<UUID, SpawnPointType> playerSpawnMode = new HashMap<>();
+    private final Map<UUID, EditorStreamer> streamers = new HashMap<>();
 
     public ArenaEditor(Paintball plugin) {
         this.plugin = plugin;
@@ -49,6 +56,26 @@ public final class ArenaEditor {
                 return false;
             }
 
+            // Large arenas are streamed in around the builder instead of waiting for a full paste
+            final Clipboard clipboard;
+            try {
+                clipboard = this.plugin.getArenaManager().readClipboard(arena);
+            } catch (final IOException exception) {
+                this.plugin.logError("Failed to read arena for editing: " + arenaName, exception);
+                player.sendMessage(MessageUtils.parseMessage("<red>Failed to load arena into editor world!"));
+                return false;
+            }
+            if (clipboard == null) {
+                player.sendMessage(MessageUtils.parseMessage("<red>Failed to load arena into editor world!"));
+                return false;
+            }
+
+            final BlockVector3 dimensions = clipboard.getDimensions();
+            if ((long) dimensions.getX() * dimensions.getY() * dimensions.getZ() > STREAMING_VOLUME) {
+                this.enterStreamingEditor(player, arena, clipboard);
+                return true;
+            }
+
             // Load arena into editor world
             return this.plugin.getArenaManager().loadArenaInEditor(arenaName).thenCompose(success -> {
                 if (!success) {
@@ -87,6 +114,34 @@ public final class ArenaEditor {
         });
     }
 
+    /**
+     * Enter editor mode with the arena streamed in around the player as they move
+     */
+    private void enterStreamingEditor(final Player player, final Arena arena, final Clipboard clipboard) {
+        final World editorWorld = this.plugin.getWorldManager().getArenaEditorWorld();
+        final String arenaName = arena.getName().toLowerCase();
+
+        Bukkit.getScheduler().runTask(this.plugin, () -> {
+            player.teleport(new Location(editorWorld, 0, 105, 0));
+            player.setGameMode(GameMode.CREATIVE);
+
+            this.editingPlayers.add(player.getUniqueId());
+            this.playerEditingArena.put(player.getUniqueId(), arenaName);
+            this.playerSpawnMode.put(player.getUniqueId(), SpawnPointType.RED_SPAWN);
+
+            this.giveEditorTools(player);
+            this.spawnArmorStands(arena, editorWorld);
+
+            final EditorStreamer streamer = new EditorStreamer(this.plugin, arena, clipboard, editorWorld, ArenaManager.PASTE_LOCATION);
+            this.streamers.put(player.getUniqueId(), streamer);
+            streamer.start(player);
+
+            player.sendMessage(MessageUtils.parseMessage("<green>Entered arena editor mode for: <yellow>" + arena.getName()));
+            player.sendMessage(MessageUtils.parseMessage("<gray>This arena is large and loads around you as you move"));
+            player.sendMessage(MessageUtils.parseMessage("<gray>Right-click to place spawn points, left-click armor stands to remove them"));
+        });
+    }
+
     /**
      * Exit arena editor mode for a player
      */
@@ -102,14 +157,25 @@ public final class ArenaEditor {
                 return false;
             }
 
-            if (save) {
-                // Save the entire arena including armor stands to schematic
-                this.saveArenaWithArmorStands(arenaName);
-                player.sendMessage(MessageUtils.parseMessage("<green>Arena saved successfully!"));
-            } else {
-                // Clean up armor stands without saving
-                this.clearArmorStands(arenaName);
-            }
+            // Armor stands, streamers and the arena's spawns are only touched on the main thread
+            Bukkit.getScheduler().runTask(this.plugin, () -> {
+                final EditorStreamer streamer = this.streamers.remove(player.getUniqueId());
+                if (save && streamer != null) {
+                    // Only the chunks the builder visited are merged back into the arena
+                    this.saveStreamedArena(arenaName, streamer);
+                    player.sendMessage(MessageUtils.parseMessage("<green>Arena saved successfully!"));
+                } else if (save) {
+                    // Save the entire arena including armor stands to schematic
+                    this.saveArenaWithArmorStands(arenaName);
+                    player.sendMessage(MessageUtils.parseMessage("<green>Arena saved successfully!"));
+                } else {
+                    if (streamer != null) {
+                        streamer.stop();
+                    }
+                    // Clean up armor stands without saving
+                    this.clearArmorStands(arenaName);
+                }
+            });
 
             // Remove from editing
             this.editingPlayers.remove(player.getUniqueId());
@@ -128,6 +194,30 @@ public final class ArenaEditor {
         });
     }
 
+    /**
+     * End a builder's editor session without saving when they disconnect.
+     * A streamed arena's clipboard is dropped with it instead of being held for a player that may never return.
+     */
+    public void handleQuit(final Player player) {
+        if (!this.editingPlayers.remove(player.getUniqueId())) return;
+
+        final String arenaName = this.playerEditingArena.remove(player.getUniqueId());
+        this.playerSpawnMode.remove(player.getUniqueId());
+
+        final EditorStreamer streamer = this.streamers.remove(player.getUniqueId());
+        if (streamer != null) {
+            streamer.stop();
+        }
+        if (arenaName != null) {
+            this.clearArmorStands(arenaName);
+        }
+
+        // They come back in the lobby without the editor tools
+        this.plugin.getWorldManager().teleportToLobby(player);
+        player.setGameMode(GameMode.ADVENTURE);
+        player.getInventory().clear();
+    }
+
     /**
      * Handle spawn point placement
      */
@@ -293,14 +383,36 @@ public final class ArenaEditor {
         this.clearArmorStands(arenaName);
         
         final Set<ArmorStand> armorStands = new HashSet<>();
+
+        // Legacy arenas keep their spawns only as markers inside the schematic. Pasted markers are adopted
+        // for spawn types the config has none of and removed as duplicates of the config otherwise.
+        final NamespacedKey spawnTypeKey = new NamespacedKey(this.plugin, "spawn_type");
+        for (final ArmorStand pasted : world.getEntitiesByClass(ArmorStand.class)) {
+            final String spawnTypeStr = pasted.getPersistentDataContainer().get(
+                spawnTypeKey,
+                org.bukkit.persistence.PersistentDataType.STRING
+            );
+            if (spawnTypeStr == null) continue;
+
+            try {
+                if (arena.getSpawnCount(SpawnPointType.valueOf(spawnTypeStr).toSpawnType()) > 0) {
+                    pasted.remove();
+                } else {
+                    armorStands.add(pasted);
+                }
+            } catch (final IllegalArgumentException e) {
+                this.plugin.logError("Invalid spawn type in armor stand: " + spawnTypeStr);
+            }
+        }
         
         // Spawn armor stands for each spawn type
+        final BlockVector3 paste = ArenaManager.PASTE_LOCATION;
         for (final SpawnPointType spawnType : SpawnPointType.values()) {
-            final List<Location> spawns = this.getSpawnsByType(arena, spawnType);
+            final Arena.SpawnType arenaSpawnType = spawnType.toSpawnType();
             
-            for (final Location spawn : spawns) {
-                final Location worldLocation = spawn.clone();
-                worldLocation.setWorld(world);
+            for (int i = 0; i < arena.getSpawnCount(arenaSpawnType); i++) {
+                final Location worldLocation = arena.getSpawnLocation(arenaSpawnType, i, world,
+                        paste.getX(), paste.getY(), paste.getZ());
                 
                 final ArmorStand armorStand = this.createSpawnArmorStand(worldLocation, spawnType);
                 armorStands.add(armorStand);
@@ -311,7 +423,7 @@ public final class ArenaEditor {
     }
 
     /**
-     * Save the entire arena including armor stands to schematic file
+     * Save the entire arena including armor stands to schematic file, must be called from the main thread
      */
     private void saveArenaWithArmorStands(final String arenaName) {
         final Arena arena = this.plugin.getArenaManager().getArenas().get(arenaName);
@@ -326,18 +438,46 @@ public final class ArenaEditor {
             return;
         }
 
+        // Store the placed spawn points in the arena configuration
+        this.storeSpawnsFromArmorStands(arena, arenaName);
+        this.plugin.getArenaManager().saveArenas();
+
         // Save the arena with armor stands using ArenaManager
         this.plugin.getArenaManager().saveArenaSchematic(arenaName, editorWorld).thenAccept(success -> {
             if (success) {
                 this.plugin.logInfo("Successfully saved arena with armor stands: " + arenaName);
                 // Clear armor stands after successful save
-                this.clearArmorStands(arenaName);
+                Bukkit.getScheduler().runTask(this.plugin, () -> this.clearArmorStands(arenaName));
             } else {
                 this.plugin.logError("Failed to save arena schematic: " + arenaName);
             }
         });
     }
 
+    /**
+     * Save a streamed arena by merging the chunks that were loaded back into its clipboard, must be called
+     * from the main thread
+     */
+    private void saveStreamedArena(final String arenaName, final EditorStreamer streamer) {
+        final Arena arena = streamer.getArena();
+
+        // Store the placed spawn points in the arena configuration
+        this.storeSpawnsFromArmorStands(arena, arenaName);
+        this.plugin.getArenaManager().saveArenas();
+
+        final int chunks = streamer.getLoadedChunkCount();
+        streamer.merge()
+                .thenCompose(clipboard -> this.plugin.getArenaManager().saveArenaClipboard(arenaName, clipboard))
+                .whenComplete((success, throwable) -> {
+                    if (throwable != null || !success) {
+                        this.plugin.logError("Failed to save streamed arena: " + arenaName, throwable);
+                        return;
+                    }
+                    this.plugin.logInfo("Merged " + chunks + " edited chunks into arena: " + arenaName);
+                    Bukkit.getScheduler().runTask(this.plugin, () -> this.clearArmorStands(arenaName));
+                });
+    }
+
     /**
      * Clear all armor stands for an arena
      */
@@ -349,30 +489,35 @@ public final class ArenaEditor {
     }
 
     /**
-     * Get spawn points by type from arena
+     * Replace the arena's spawn points with the armor stands placed in the editor.
+     * Must only be called from the main thread, matches read the same spawns there.
      */
-    private List<Location> getSpawnsByType(final Arena arena, final SpawnPointType spawnType) {
-        return switch (spawnType) {
-            case RED_SPAWN -> arena.getRedSpawns();
-            case BLUE_SPAWN -> arena.getBlueSpawns();
-            case FREE_FOR_ALL_SPAWN -> arena.getFreeForAllSpawns();
-            case FLAG_RED_SPAWN -> arena.getRedFlagSpawns();
-            case FLAG_BLUE_SPAWN -> arena.getBlueFlagSpawns();
-        };
-    }
+    private void storeSpawnsFromArmorStands(final Arena arena, final String arenaName) {
+        for (final SpawnPointType spawnType : SpawnPointType.values()) {
+            arena.clearSpawns(spawnType.toSpawnType());
+        }
 
-    /**
-     * Clear spawn points by type from arena
-     */
-    private void clearSpawnsByType(final Arena arena, final SpawnPointType spawnType) {
-        this.getSpawnsByType(arena, spawnType).clear();
-    }
+        final Set<ArmorStand> armorStands = this.arenaArmorStands.get(arenaName);
+        if (armorStands == null) return;
 
-    /**
-     * Add spawn point by type to arena
-     */
-    private void addSpawnByType(final Arena arena, final SpawnPointType spawnType, final Location location) {
-        this.getSpawnsByType(arena, spawnType).add(location);
+        final NamespacedKey spawnTypeKey = new NamespacedKey(this.plugin, "spawn_type");
+        final BlockVector3 paste = ArenaManager.PASTE_LOCATION;
+        for (final ArmorStand armorStand : armorStands) {
+            final String spawnTypeStr = armorStand.getPersistentDataContainer().get(
+                spawnTypeKey,
+                org.bukkit.persistence.PersistentDataType.STRING
+            );
+            if (spawnTypeStr == null) continue;
+
+            try {
+                final Location location = armorStand.getLocation();
+                arena.addSpawn(SpawnPointType.valueOf(spawnTypeStr).toSpawnType(),
+                        location.getX() - paste.getX(), location.getY() - paste.getY(), location.getZ() - paste.getZ(),
+                        location.getYaw());
+            } catch (final IllegalArgumentException e) {
+                this.plugin.logError("Invalid spawn type in armor stand: " + spawnTypeStr);
+            }
+        }
     }
 
     /**
@@ -389,59 +534,37 @@ public final class ArenaEditor {
     }
 
     /**
-     * Scan for armor stands in the arena world and extract spawn points
+     * Extract spawn points from the spawn markers recorded in an arena slot when it was pasted
      */
-    public Map<SpawnPointType, List<Location>> scanArmorStandsForSpawns(final World gameWorld) {
+    public Map<SpawnPointType, List<Location>> scanArmorStandsForSpawns(final int slot) {
         final Map<SpawnPointType, List<Location>> spawnPoints = new HashMap<>();
-        
-        // Scan all armor stands in the game world
-        gameWorld.getEntitiesByClass(ArmorStand.class).forEach(armorStand -> {
-            final String spawnTypeStr = armorStand.getPersistentDataContainer().get(
-                new NamespacedKey(this.plugin, "spawn_type"), 
-                org.bukkit.persistence.PersistentDataType.STRING
-            );
-            
-            if (spawnTypeStr != null) {
-                try {
-                    final SpawnPointType spawnType = SpawnPointType.valueOf(spawnTypeStr);
-                    final Location location = armorStand.getLocation().clone();
-                    
-                    spawnPoints.computeIfAbsent(spawnType, k -> new ArrayList<>()).add(location);
-                    
-                    this.plugin.logInfo("Found spawn point: " + spawnType + " at " + 
-                        String.format("%.1f, %.1f, %.1f", location.getX(), location.getY(), location.getZ()));
-                        
-                } catch (final IllegalArgumentException e) {
-                    this.plugin.logError("Invalid spawn type in armor stand: " + spawnTypeStr);
-                }
+
+        // Recorded positions are used rather than the markers themselves, whose chunks may have unloaded since
+        for (final ArenaEntityRegistry.Marker marker : this.plugin.getArenaManager().getEntityRegistry().getMarkers(slot)) {
+            try {
+                final SpawnPointType spawnType = SpawnPointType.valueOf(marker.spawnType());
+                final Location location = marker.location().clone();
+
+                spawnPoints.computeIfAbsent(spawnType, k -> new ArrayList<>()).add(location);
+
+                this.plugin.logInfo("Found spawn point: " + spawnType + " at " +
+                    String.format("%.1f, %.1f, %.1f", location.getX(), location.getY(), location.getZ()));
+
+            } catch (final IllegalArgumentException e) {
+                this.plugin.logError("Invalid spawn type in armor stand: " + marker.spawnType());
             }
-        });
-        
+        }
+
         return spawnPoints;
     }
 
     /**
-     * Remove all spawn armor stands from the game world after extracting spawn points
+     * Remove all spawn armor stands from an arena slot after extracting spawn points
      */
-    public void removeSpawnArmorStands(final World gameWorld) {
-        final List<ArmorStand> spawnArmorStands = new ArrayList<>();
+    public void removeSpawnArmorStands(final int slot) {
+        final int removed = this.plugin.getArenaManager().getEntityRegistry().clearSlot(slot, ArenaEntityRegistry.Kind.MARKER);
         
-        // Find all spawn armor stands
-        gameWorld.getEntitiesByClass(ArmorStand.class).forEach(armorStand -> {
-            final String spawnTypeStr = armorStand.getPersistentDataContainer().get(
-                new NamespacedKey(this.plugin, "spawn_type"), 
-                org.bukkit.persistence.PersistentDataType.STRING
-            );
-            
-            if (spawnTypeStr != null) {
-                spawnArmorStands.add(armorStand);
-            }
-        });
-        
-        // Remove all spawn armor stands
-        spawnArmorStands.forEach(ArmorStand::remove);
-        
-        this.plugin.logInfo("Removed " + spawnArmorStands.size() + " spawn armor stands from game world");
+        this.plugin.logInfo("Removed " + removed + " spawn armor stands from game world");
     }
 
     /**
@@ -467,5 +590,18 @@ public final class ArenaEditor {
             this.armorColor = armorColor;
             this.compatibleGamemodes = compatibleGamemodes;
         }
+
+        /**
+         * Get the arena spawn type this spawn point is stored as
+         */
+        public Arena.SpawnType toSpawnType() {
+            return switch (this) {
+                case RED_SPAWN -> Arena.SpawnType.RED_SPAWN;
+                case BLUE_SPAWN -> Arena.SpawnType.BLUE_SPAWN;
+                case FREE_FOR_ALL_SPAWN -> Arena.SpawnType.FREE_FOR_ALL_SPAWN;
+                case FLAG_RED_SPAWN -> Arena.SpawnType.RED_FLAG_SPAWN;
+                case FLAG_BLUE_SPAWN -> Arena.SpawnType.BLUE_FLAG_SPAWN;
+            };
+        }
     }
 }
\ No newline at end of file
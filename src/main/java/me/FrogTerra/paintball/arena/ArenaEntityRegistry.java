@@ -0,0 +1,208 @@
+package me.FrogTerra.paintball.arena;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Tracks entities the plugin places in arenas, indexed by arena slot and chunk.
+ * Cleanup only touches entities we created instead of scanning the whole world.
+ * Must only be used from the main thread.
+ */
+public final class ArenaEntityRegistry {
+
+    private final Map<Integer, Map<Long, Set<Entity>>> slotChunks = new HashMap<>();
+    private final Map<UUID, TrackedEntity> trackedEntities = new HashMap<>();
+    // Spawn markers as they were pasted, kept after their chunk unloads and the marker is discarded
+    private final Map<Integer, Map<UUID, Marker>> slotMarkers = new HashMap<>();
+
+    /**
+     * Start tracking an entity in an arena slot.
+     * Tracked entities are made non-persistent so they never outlive the arena.
+     */
+    public void track(final int slot, final Entity entity, final Kind kind) {
+        if (entity == null || this.trackedEntities.containsKey(entity.getUniqueId())) return;
+
+        final long chunkKey = Chunk.getChunkKey(entity.getLocation());
+        entity.setPersistent(false);
+
+        this.trackedEntities.put(entity.getUniqueId(), new TrackedEntity(entity, slot, chunkKey, kind));
+        this.slotChunks.computeIfAbsent(slot, k -> new HashMap<>())
+                .computeIfAbsent(chunkKey, k -> new LinkedHashSet<>())
+                .add(entity);
+    }
+
+    /**
+     * Track a pasted spawn marker and record its spawn type and position.
+     * The record outlives the entity, so unloading the marker's chunk before the match begins loses no spawns.
+     */
+    public void trackMarker(final int slot, final Entity entity, final String spawnType) {
+        this.track(slot, entity, Kind.MARKER);
+        this.slotMarkers.computeIfAbsent(slot, k -> new HashMap<>())
+                .putIfAbsent(entity.getUniqueId(), new Marker(spawnType, entity.getLocation()));
+    }
+
+    /**
+     * Get the spawn markers recorded in a slot
+     */
+    public Collection<Marker> getMarkers(final int slot) {
+        final Map<UUID, Marker> markers = this.slotMarkers.get(slot);
+        return markers != null ? Collections.unmodifiableCollection(markers.values()) : Collections.emptyList();
+    }
+
+    /**
+     * Stop tracking an entity without removing it
+     */
+    public void untrack(final Entity entity) {
+        final TrackedEntity tracked = this.trackedEntities.remove(entity.getUniqueId());
+        if (tracked == null) return;
+
+        final Map<Long, Set<Entity>> chunks = this.slotChunks.get(tracked.slot());
+        if (chunks == null) return;
+
+        final Set<Entity> entities = chunks.get(tracked.chunkKey());
+        if (entities != null) {
+            entities.remove(entity);
+            if (entities.isEmpty()) chunks.remove(tracked.chunkKey());
+        }
+        if (chunks.isEmpty()) this.slotChunks.remove(tracked.slot());
+    }
+
+    /**
+     * Move a tracked entity to the chunk it is currently in, e.g. after a projectile has travelled
+     */
+    public void relocate(final Entity entity) {
+        final TrackedEntity tracked = this.trackedEntities.get(entity.getUniqueId());
+        if (tracked == null || tracked.chunkKey() == Chunk.getChunkKey(entity.getLocation())) return;
+
+        this.untrack(entity);
+        this.track(tracked.slot(), entity, tracked.kind());
+    }
+
+    /**
+     * Check if an entity is tracked
+     */
+    public boolean isTracked(final Entity entity) {
+        return this.trackedEntities.containsKey(entity.getUniqueId());
+    }
+
+    /**
+     * Visit every tracked entity of a kind in a slot
+     */
+    public void forEach(final int slot, final Kind kind, final Consumer<Entity> action) {
+        final Map<Long, Set<Entity>> chunks = this.slotChunks.get(slot);
+        if (chunks == null) return;
+
+        for (final Set<Entity> entities : chunks.values()) {
+            for (final Entity entity : entities) {
+                if (this.trackedEntities.get(entity.getUniqueId()).kind() == kind) {
+                    action.accept(entity);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the tracked entities of a slot in a single chunk
+     */
+    public Collection<Entity> getEntitiesInChunk(final int slot, final int chunkX, final int chunkZ) {
+        final Map<Long, Set<Entity>> chunks = this.slotChunks.get(slot);
+        if (chunks == null) return Collections.emptySet();
+
+        final Set<Entity> entities = chunks.get(Chunk.getChunkKey(chunkX, chunkZ));
+        return entities != null ? Collections.unmodifiableSet(entities) : Collections.emptySet();
+    }
+
+    /**
+     * Get the tracked entities of a slot in the chunk containing a location
+     */
+    public Collection<Entity> getEntitiesInChunk(final int slot, final Location location) {
+        return this.getEntitiesInChunk(slot, location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    /**
+     * Get the number of tracked entities in a slot
+     */
+    public int getTrackedCount(final int slot) {
+        final Map<Long, Set<Entity>> chunks = this.slotChunks.get(slot);
+        if (chunks == null) return 0;
+
+        int count = 0;
+        for (final Set<Entity> entities : chunks.values()) {
+            count += entities.size();
+        }
+        return count;
+    }
+
+    /**
+     * Remove every tracked entity of a kind from a slot
+     *
+     * @return the number of entities removed
+     */
+    public int clearSlot(final int slot, final Kind kind) {
+        if (kind == Kind.MARKER) {
+            this.slotMarkers.remove(slot);
+        }
+
+        final List<Entity> matching = new ArrayList<>();
+        this.forEach(slot, kind, matching::add);
+
+        for (final Entity entity : matching) {
+            this.untrack(entity);
+            entity.remove();
+        }
+        return matching.size();
+    }
+
+    /**
+     * Remove every tracked entity from a slot
+     *
+     * @return the number of entities removed
+     */
+    public int clearSlot(final int slot) {
+        this.slotMarkers.remove(slot);
+
+        final Map<Long, Set<Entity>> chunks = this.slotChunks.remove(slot);
+        if (chunks == null) return 0;
+
+        int removed = 0;
+        for (final Set<Entity> entities : chunks.values()) {
+            for (final Entity entity : entities) {
+                this.trackedEntities.remove(entity.getUniqueId());
+                entity.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Kinds of entities the plugin places in arenas
+     */
+    public enum Kind {
+        MARKER,
+        PROJECTILE,
+        FLAG,
+        DECOY
+    }
+
+    /**
+     * A spawn marker's type and position as it was pasted
+     */
+    public record Marker(String spawnType, Location location) {
+    }
+
+    private record TrackedEntity(Entity entity, int slot, long chunkKey, Kind kind) {
+    }
+}
@@ -0,0 +1,230 @@
+package me.FrogTerra.paintball.arena;
+
+import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.jnbt.StringTag;
+import com.sk89q.jnbt.Tag;
+import com.sk89q.worldedit.entity.BaseEntity;
+import com.sk89q.worldedit.entity.Entity;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.world.block.BlockState;
+import me.FrogTerra.paintball.Paintball;
+import org.bukkit.NamespacedKey;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports a folder of legacy schematics in parallel on a bounded worker pool.
+ * Each file is decoded, trimmed to its non-air bounds, has its spawn markers extracted
+ * and can optionally be written in the compiled fast-load format.
+ * Workers never touch the Bukkit API; registering the arenas is left to the main thread.
+ */
+public final class ArenaImporter {
+
+    private static final int MAX_WORKERS = 4;
+
+    private final Paintball plugin;
+    private final File schematicsFolder;
+    private final File compiledFolder;
+    private final String spawnTypeKey;
+
+    public ArenaImporter(final Paintball plugin, final File schematicsFolder, final File compiledFolder) {
+        this.plugin = plugin;
+        this.schematicsFolder = schematicsFolder;
+        this.compiledFolder = compiledFolder;
+        this.spawnTypeKey = new NamespacedKey(plugin, "spawn_type").toString();
+    }
+
+    /**
+     * Import every schematic in a folder
+     *
+     * @param compile also write a compiled fast-load file for each arena without block entities
+     * @return one result per schematic, sorted by name
+     */
+    public CompletableFuture<List<Result>> importFolder(final File folder, final boolean compile) {
+        final File[] files = folder.listFiles((dir, name) ->
+                name.toLowerCase().endsWith(".schem") || name.toLowerCase().endsWith(".schematic"));
+        if (files == null || files.length == 0) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        Arrays.sort(files, Comparator.comparing(File::getName));
+
+        // Leave a core for the server thread
+        final int workers = Math.max(1, Math.min(files.length,
+                Math.min(MAX_WORKERS, Runtime.getRuntime().availableProcessors() - 1)));
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            final Thread thread = new Thread(runnable, "Paintball-Import-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        final List<CompletableFuture<Result>> futures = new ArrayList<>(files.length);
+        for (final File file : files) {
+            futures.add(CompletableFuture.supplyAsync(() -> this.importFile(file, compile), pool));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList())
+                .whenComplete((results, throwable) -> pool.shutdown());
+    }
+
+    /**
+     * Decode, analyse and optionally compile a single schematic
+     */
+    private Result importFile(final File file, final boolean compile) {
+        final String name = file.getName().replaceAll("\\.[^.]*$", "");
+        final long start = System.nanoTime();
+
+        try {
+            final ClipboardFormat format = ClipboardFormats.findByFile(file);
+            if (format == null) {
+                return Result.failed(name, file, "Unsupported format");
+            }
+
+            final Clipboard clipboard;
+            try (final ClipboardReader reader = format.getReader(new FileInputStream(file))) {
+                clipboard = reader.read();
+            }
+            final long decoded = System.nanoTime();
+
+            final BlockVector3[] bounds = this.findBounds(clipboard);
+            if (bounds == null) {
+                return Result.failed(name, file, "Schematic is empty");
+            }
+
+            // Arenas reaching into a neighbouring slot could never be loaded
+            if (!ArenaManager.fitsSlot(clipboard)) {
+                return Result.failed(name, file, "Wider than an arena slot");
+            }
+
+            final SpawnPoints spawns = this.extractSpawns(clipboard);
+
+            // Arenas always load from the schematics folder
+            final File target = new File(this.schematicsFolder, file.getName());
+            if (!target.getCanonicalFile().equals(file.getCanonicalFile())) {
+                Files.copy(file.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            long compiledBytes = 0;
+            if (compile) {
+                compiledBytes = CompiledArena.write(clipboard, bounds[0], bounds[1],
+                        new File(this.compiledFolder, name + CompiledArena.EXTENSION));
+            }
+            final long finished = System.nanoTime();
+
+            final BlockVector3 size = bounds[1].subtract(bounds[0]).add(1, 1, 1);
+            return new Result(name, file, null, spawns, size.getX(), size.getY(), size.getZ(),
+                    (decoded - start) / 1_000_000L, compile ? (finished - decoded) / 1_000_000L : 0L,
+                    file.length(), compiledBytes);
+        } catch (final Exception exception) {
+            this.plugin.logError("Failed to import schematic: " + file.getName(), exception);
+            return Result.failed(name, file, exception.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Find the smallest box containing every non-air block
+     *
+     * @return min and max, or null if the clipboard only contains air
+     */
+    private BlockVector3[] findBounds(final Clipboard clipboard) {
+        final BlockVector3 min = clipboard.getMinimumPoint();
+        final BlockVector3 max = clipboard.getMaximumPoint();
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+
+        for (int y = min.getY(); y <= max.getY(); y++) {
+            for (int z = min.getZ(); z <= max.getZ(); z++) {
+                for (int x = min.getX(); x <= max.getX(); x++) {
+                    final BlockState state = clipboard.getBlock(x, y, z);
+                    if (state == null || state.getBlockType().getMaterial().isAir()) continue;
+
+                    if (x < minX) minX = x;
+                    if (y < minY) minY = y;
+                    if (z < minZ) minZ = z;
+                    if (x > maxX) maxX = x;
+                    if (y > maxY) maxY = y;
+                    if (z > maxZ) maxZ = z;
+                }
+            }
+        }
+
+        if (minX == Integer.MAX_VALUE) return null;
+        return new BlockVector3[]{BlockVector3.at(minX, minY, minZ), BlockVector3.at(maxX, maxY, maxZ)};
+    }
+
+    /**
+     * Read spawn marker armor stands saved by the arena editor, relative to the clipboard origin
+     */
+    private SpawnPoints extractSpawns(final Clipboard clipboard) {
+        final SpawnPoints spawns = new SpawnPoints();
+        final BlockVector3 origin = clipboard.getOrigin();
+
+        for (final Entity entity : clipboard.getEntities()) {
+            final BaseEntity state = entity.getState();
+            if (state == null || !"minecraft:armor_stand".equals(state.getType().getId())) continue;
+
+            final String spawnType = this.readSpawnType(state.getNbtData());
+            if (spawnType == null) continue;
+
+            final Arena.SpawnType type;
+            try {
+                type = ArenaEditor.SpawnPointType.valueOf(spawnType).toSpawnType();
+            } catch (final IllegalArgumentException exception) {
+                continue;
+            }
+
+            final com.sk89q.worldedit.util.Location location = entity.getLocation();
+            spawns.add(type, location.getX() - origin.getX(), location.getY() - origin.getY(),
+                    location.getZ() - origin.getZ(), location.getYaw());
+        }
+        return spawns;
+    }
+
+    /**
+     * Get the spawn type stored in an armor stand's persistent data, if any
+     */
+    private String readSpawnType(final CompoundTag nbt) {
+        if (nbt == null) return null;
+
+        final Tag bukkitValues = nbt.getValue().get("BukkitValues");
+        if (!(bukkitValues instanceof final CompoundTag values)) return null;
+
+        final Map<String, Tag> entries = values.getValue();
+        final Tag spawnType = entries.get(this.spawnTypeKey);
+        return spawnType instanceof final StringTag string ? string.getValue() : null;
+    }
+
+    /**
+     * Outcome of importing one schematic
+     */
+    public record Result(String name, File source, String error, SpawnPoints spawns,
+                         int width, int height, int length,
+                         long decodeMillis, long compileMillis, long sourceBytes, long compiledBytes) {
+
+        static Result failed(final String name, final File source, final String error) {
+            return new Result(name, source, error, null, 0, 0, 0, 0L, 0L, source.length(), 0L);
+        }
+
+        public boolean isSuccess() {
+            return this.error == null;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.google.gson.ExclusionStrategy;
 import com.google.gson.FieldAttributes;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 import com.google.gson.reflect.TypeToken;
 import com.sk89q.worldedit.EditSession;
 import com.sk89q.worldedit.WorldEdit;
@@ -26,26 +28,38 @@ import com.sk89q.worldedit.world.block.BlockTypes;
 import lombok.Getter;
 import me.FrogTerra.paintball.Paintball;
 import me.FrogTerra.paintball.utility.LocationAdapter;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 
 import java.io.*;
 import java.lang.reflect.Type;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class ArenaManager {
 
+    // Where schematics are pasted in the editor world and for slot 0 of the arena world
+    public static final BlockVector3 PASTE_LOCATION = BlockVector3.at(0, 100, 0);
+    // Distance between arena slots along the X axis of the arena world
+    public static final int SLOT_SPACING = 2048;
+
     private final Paintball plugin;
     private final Gson gson;
     private final File schematicsFolder;
+    private final File compiledFolder;
     private final File arenasConfigFile;
 
     @Getter private final Map<String, Arena> arenas = new HashMap<>();
     @Getter private ArenaEditor arenaEditor;
-    @Getter private Arena currentLoadedArena;
-    @Getter private boolean arenaPreloaded = false;
+    @Getter private final ArenaEntityRegistry entityRegistry = new ArenaEntityRegistry();
+    @Getter private final ArenaImporter importer;
+    private final Map<Integer, LoadedArena> loadedArenas = new ConcurrentHashMap<>();
+    private final BitSet usedSlots = new BitSet();
+    private int preloadedSlot = -1;
     private String preloadedArenaName;
 
     public ArenaManager(Paintball plugin) {
@@ -73,7 +87,9 @@ public final class ArenaManager {
                 .create();
 
         this.schematicsFolder = new File(plugin.getDataFolder(), "schematics");
+        this.compiledFolder = new File(plugin.getDataFolder(), "compiled");
         this.arenasConfigFile = new File(plugin.getDataFolder(), "arenas.json");
+        this.importer = new ArenaImporter(plugin, this.schematicsFolder, this.compiledFolder);
 
         if (!this.schematicsFolder.exists()) {
             this.schematicsFolder.mkdirs();
@@ -84,9 +100,22 @@ public final class ArenaManager {
             return;
         }
 
+        boolean migratedSpawns = false;
         try (final FileReader reader = new FileReader(this.arenasConfigFile)) {
+            final JsonElement root = JsonParser.parseReader(reader);
+
+            // Convert spawn lists written by older versions into packed spawns
+            if (root.isJsonObject()) {
+                for (final Map.Entry<String, JsonElement> entry : root.getAsJsonObject().entrySet()) {
+                    if (entry.getValue().isJsonObject()) {
+                        migratedSpawns |= SpawnPoints.migrateLegacy(entry.getValue().getAsJsonObject(),
+                                PASTE_LOCATION.getX(), PASTE_LOCATION.getY(), PASTE_LOCATION.getZ());
+                    }
+                }
+            }
+
             final Type type = new TypeToken<Map<String, Arena>>(){}.getType();
-            final Map<String, Arena> loadedArenas = this.gson.fromJson(reader, type);
+            final Map<String, Arena> loadedArenas = this.gson.fromJson(root, type);
 
             if (loadedArenas != null) {
                 this.arenas.putAll(loadedArenas);
@@ -101,6 +130,11 @@ public final class ArenaManager {
             this.saveArenas();
         }
 
+        if (migratedSpawns) {
+            this.plugin.logInfo("Converted legacy spawn lists to packed spawns, rewriting arena configuration");
+            this.saveArenas();
+        }
+
         this.plugin.logInfo("Arena manager initialized with " + this.arenas.size() + " arenas");
     }
 
@@ -118,6 +152,13 @@ public final class ArenaManager {
         return true;
     }
 
+    /**
+     * Register an already built arena without saving the configuration, used by bulk imports
+     */
+    public boolean addArena(final Arena arena) {
+        return this.arenas.putIfAbsent(arena.getName().toLowerCase(), arena) == null;
+    }
+
     /**
      * Delete an arena
      */
@@ -160,8 +201,6 @@ public final class ArenaManager {
                 return false;
             }
 
-            final File schematicFile = new File(this.schematicsFolder, arena.getSchematicFile());
-            
             try {
                 // Ensure schematics directory exists
                 if (!this.schematicsFolder.exists()) {
@@ -185,22 +224,7 @@ public final class ArenaManager {
                     Operations.complete(copy);
 
                     // Save to schematic file
-                    final ClipboardFormat format = ClipboardFormats.findByFile(schematicFile);
-                    if (format == null) {
-                        // Default to .schem format if not determined
-                        final File newSchematicFile = new File(this.schematicsFolder, 
-                            arena.getSchematicFile().replaceAll("\\.[^.]*$", "") + ".schem");
-                        arena.setSchematicFile(newSchematicFile.getName());
-                        this.saveArenas();
-                        
-                        try (final ClipboardWriter writer = BuiltInClipboardFormat.SPONGE_SCHEMATIC.getWriter(new FileOutputStream(newSchematicFile))) {
-                            writer.write(clipboard);
-                        }
-                    } else {
-                        try (final ClipboardWriter writer = format.getWriter(new FileOutputStream(schematicFile))) {
-                            writer.write(clipboard);
-                        }
-                    }
+                    this.writeSchematic(arena, clipboard);
                 }
 
                 this.plugin.logInfo("Successfully saved arena schematic with armor stands: " + arenaName);
@@ -214,201 +238,352 @@ public final class ArenaManager {
     }
 
     /**
-     * Load an arena schematic into a specific world
+     * Save an already built clipboard as an arena's schematic, used by streamed editor sessions
      */
-    private CompletableFuture<Boolean> loadArenaInWorld(final String arenaName, final World targetWorld) {
+    public CompletableFuture<Boolean> saveArenaClipboard(final String arenaName, final Clipboard clipboard) {
         return CompletableFuture.supplyAsync(() -> {
             final Arena arena = this.arenas.get(arenaName.toLowerCase());
             if (arena == null) {
-                this.plugin.logError("Arena not found: " + arenaName);
+                this.plugin.logError("Arena not found for saving: " + arenaName);
                 return false;
             }
 
-            final File schematicFile = new File(this.schematicsFolder, arena.getSchematicFile());
-            if (!schematicFile.exists()) {
-                this.plugin.logError("Schematic file not found: " + arena.getSchematicFile());
+            try {
+                this.writeSchematic(arena, clipboard);
+                this.plugin.logInfo("Successfully saved streamed arena schematic: " + arenaName);
+                return true;
+            } catch (final IOException exception) {
+                this.plugin.logError("Failed to save arena schematic: " + arenaName, exception);
                 return false;
             }
+        });
+    }
 
-            try {
-                if (targetWorld == null) {
-                    this.plugin.logError("Arena world not available");
-                    return false;
-                }
-
-                // Clear the arena world first
-                // TODO:: Clear the schematic on game completion-= this.clearWorld(targetWorld);
+    /**
+     * Write a clipboard to an arena's schematic file, switching to .schem if the format is unknown
+     */
+    private void writeSchematic(final Arena arena, final Clipboard clipboard) throws IOException {
+        final File schematicFile = new File(this.schematicsFolder, arena.getSchematicFile());
+        final ClipboardFormat format = ClipboardFormats.findByFile(schematicFile);
+        if (format == null) {
+            // Default to .schem format if not determined
+            final File newSchematicFile = new File(this.schematicsFolder, 
+                arena.getSchematicFile().replaceAll("\\.[^.]*$", "") + ".schem");
+            arena.setSchematicFile(newSchematicFile.getName());
+            this.saveArenas();
+            
+            try (final ClipboardWriter writer = BuiltInClipboardFormat.SPONGE_SCHEMATIC.getWriter(new FileOutputStream(newSchematicFile))) {
+                writer.write(clipboard);
+            }
+        } else {
+            try (final ClipboardWriter writer = format.getWriter(new FileOutputStream(schematicFile))) {
+                writer.write(clipboard);
+            }
+        }
+    }
 
-                // Load and paste the schematic
-                final ClipboardFormat format = ClipboardFormats.findByFile(schematicFile);
-                if (format == null) {
-                    this.plugin.logError("Unsupported schematic format: " + schematicFile.getName());
-                    return false;
-                }
+    /**
+     * Get the paste location of an arena slot in the arena world, slots are laid out along the X axis
+     */
+    public static BlockVector3 getSlotPasteLocation(final int slot) {
+        return PASTE_LOCATION.add(slot * SLOT_SPACING, 0, 0);
+    }
 
-                try (final ClipboardReader reader = format.getReader(new FileInputStream(schematicFile))) {
-                    final Clipboard clipboard = reader.read();
+    /**
+     * Check if a clipboard pasted at a slot stays inside that slot's area, so it never overlaps a neighbouring slot
+     */
+    public static boolean fitsSlot(final Clipboard clipboard) {
+        final int origin = clipboard.getOrigin().getX();
+        return clipboard.getMinimumPoint().getX() - origin >= -SLOT_SPACING / 2
+                && clipboard.getMaximumPoint().getX() - origin < SLOT_SPACING / 2;
+    }
 
-                    try (final EditSession editSession = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(targetWorld))) {
-                        final Operation operation = new ClipboardHolder(clipboard)
-                                .createPaste(editSession)
-                                .to(BlockVector3.at(0, 100, 0))
-                                .copyEntities(true) // This will paste armor stands from schematic
-                                .build();
+    /**
+     * Get the slot whose area contains an X coordinate of the arena world
+     */
+    public static int getSlotAt(final int blockX) {
+        return Math.floorDiv(blockX - PASTE_LOCATION.getX() + SLOT_SPACING / 2, SLOT_SPACING);
+    }
 
-                        Operations.complete(operation);
-                        editSession.flushSession();
-                    }
-                }
+    /**
+     * Reserve the lowest free arena slot
+     */
+    public synchronized int acquireSlot() {
+        final int slot = this.usedSlots.nextClearBit(0);
+        this.usedSlots.set(slot);
+        return slot;
+    }
 
-                this.currentLoadedArena = arena;
-                
-                // Mark as preloaded if this was a preload operation
-                if (targetWorld == this.plugin.getWorldManager().getArenaWorld()) {
-                    this.arenaPreloaded = true;
-                    this.preloadedArenaName = arenaName;
-                }
+    /**
+     * Give a slot back once its arena has been unloaded
+     */
+    public synchronized void releaseSlot(final int slot) {
+        this.usedSlots.clear(slot);
+    }
 
-                this.plugin.logInfo("Successfully loaded arena: " + arenaName);
-                return true;
+    /**
+     * Get the arena loaded in a slot
+     */
+    public LoadedArena getLoadedArena(final int slot) {
+        return this.loadedArenas.get(slot);
+    }
 
-            } catch (final Exception exception) {
-                this.plugin.logError("Failed to load arena: " + arenaName, exception);
-                return false;
-            }
-        });
+    /**
+     * Get the arena loaded at a block of a world, or null if the block is not in a loaded arena
+     */
+    public LoadedArena getLoadedArenaAt(final World world, final int blockX) {
+        final LoadedArena loadedArena = this.loadedArenas.get(getSlotAt(blockX));
+        return loadedArena != null && loadedArena.isIn(world) ? loadedArena : null;
     }
 
     /**
-     * Unload an arena by setting all blocks to air based on the arena's schematic dimensions
+     * Load an arena schematic into a world at the given paste location
      */
-    private CompletableFuture<Boolean> unloadArenaInWorld(final String arenaName, final World targetWorld) {
+    private CompletableFuture<Boolean> loadArenaInWorld(final String arenaName, final World targetWorld, final int slot) {
         return CompletableFuture.supplyAsync(() -> {
             final Arena arena = this.arenas.get(arenaName.toLowerCase());
             if (arena == null) {
-                this.plugin.logError("Arena not found for unloading: " + arenaName);
+                this.plugin.logError("Arena not found: " + arenaName);
                 return false;
             }
 
             final File schematicFile = new File(this.schematicsFolder, arena.getSchematicFile());
             if (!schematicFile.exists()) {
-                this.plugin.logError("Schematic file not found for unloading: " + arena.getSchematicFile());
+                this.plugin.logError("Schematic file not found: " + arena.getSchematicFile());
                 return false;
             }
 
             try {
                 if (targetWorld == null) {
-                    this.plugin.logError("Target world not available for unloading arena");
+                    this.plugin.logError("Arena world not available");
                     return false;
                 }
 
-                // Load the schematic to get its dimensions
-                final ClipboardFormat format = ClipboardFormats.findByFile(schematicFile);
-                if (format == null) {
-                    this.plugin.logError("Unsupported schematic format for unloading: " + schematicFile.getName());
+                // Load and paste the schematic
+                final Clipboard clipboard = this.readClipboard(arena);
+                if (clipboard == null) {
                     return false;
                 }
 
-                try (final ClipboardReader reader = format.getReader(new FileInputStream(schematicFile))) {
-                    final Clipboard clipboard = reader.read();
-                    // Get the schematic dimensions and calculate the region to clear
-                    final BlockVector3 schematicMin = clipboard.getMinimumPoint();
-                    final BlockVector3 schematicMax = clipboard.getMaximumPoint();
+                final boolean gameWorld = targetWorld == this.plugin.getWorldManager().getArenaWorld();
+                final BlockVector3 pasteLocation = gameWorld ? getSlotPasteLocation(slot) : PASTE_LOCATION;
 
-                    // Calculate the actual world coordinates where the schematic was pasted
-                    // The schematic was pasted at (0, 100, 0) in loadArenaInWorld
-                    final BlockVector3 pasteLocation = BlockVector3.at(0, 100, 0);
-                    final BlockVector3 offset = pasteLocation.subtract(clipboard.getOrigin());
+                // An arena reaching into the next slot would be wiped by that slot's unload
+                if (gameWorld && !fitsSlot(clipboard)) {
+                    this.plugin.logError("Arena " + arenaName + " reaches more than " + (SLOT_SPACING / 2) +
+                            " blocks from its origin on the X axis and does not fit an arena slot");
+                    return false;
+                }
 
-                    final BlockVector3 worldMin = schematicMin.add(offset);
-                    final BlockVector3 worldMax = schematicMax.add(offset);
+                // Geometry queries during the match run against the clipboard, not the world
+                final VoxelOccupancy occupancy = gameWorld ? VoxelOccupancy.fromClipboard(clipboard, pasteLocation) : null;
 
-                    final CuboidRegion region = new CuboidRegion(BukkitAdapter.adapt(targetWorld), worldMin, worldMax);
+                try (final EditSession editSession = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(targetWorld))) {
+                    final Operation operation = new ClipboardHolder(clipboard)
+                            .createPaste(editSession)
+                            .to(pasteLocation)
+                            .copyEntities(true) // This will paste armor stands from schematic
+                            .build();
 
-                    try (final EditSession editSession = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(targetWorld))) {
-                        // Set all blocks in the region to air
-                        editSession.setBlocks((Region) region, BlockTypes.AIR.getDefaultState());
-                        editSession.close();
-                    }
+                    Operations.complete(operation);
+                    editSession.flushSession();
                 }
 
-                // Clear the current arena reference
-                if (targetWorld == this.plugin.getWorldManager().getArenaWorld()) {
-                    this.currentLoadedArena = null;
-                    this.arenaPreloaded = false;
-                    this.preloadedArenaName = null;
+                if (gameWorld) {
+                    final BlockVector3 offset = pasteLocation.subtract(clipboard.getOrigin());
+                    this.loadedArenas.put(slot, new LoadedArena(arena, targetWorld, slot, pasteLocation,
+                            clipboard.getMinimumPoint().add(offset), clipboard.getMaximumPoint().add(offset), occupancy));
+                    this.plugin.logInfo("Built occupancy for " + arenaName + ": " + occupancy.countSolid() +
+                            " solid blocks in " + (occupancy.getSizeInBytes() / 1024) + " KiB");
                 }
-                
-                this.plugin.logInfo("Successfully unloaded arena: " + arenaName);
+
+                this.plugin.logInfo("Successfully loaded arena: " + arenaName + (gameWorld ? " in slot " + slot : ""));
                 return true;
 
             } catch (final Exception exception) {
-                this.plugin.logError("Failed to unload arena: " + arenaName, exception);
+                this.plugin.logError("Failed to load arena: " + arenaName, exception);
                 return false;
             }
         });
     }
 
     /**
-     * Load an arena schematic into the arena world
+     * Read an arena's blocks, preferring the compiled fast-load file when it is newer than the schematic.
+     * Compiled files carry no entities, so spawn markers come from the arena configuration instead; arenas with
+     * block entities never have a compiled file, so those always load from the schematic.
+     *
+     * @return the clipboard, or null if it could not be read
      */
-    public CompletableFuture<Boolean> loadArena(final String arenaName) {
-        return this.loadArenaInWorld(arenaName, this.plugin.getWorldManager().getArenaWorld());
+    public Clipboard readClipboard(final Arena arena) throws IOException {
+        final File schematicFile = new File(this.schematicsFolder, arena.getSchematicFile());
+        final File compiledFile = new File(this.compiledFolder, arena.getName() + CompiledArena.EXTENSION);
+
+        if (compiledFile.exists() && compiledFile.lastModified() >= schematicFile.lastModified()) {
+            try {
+                return CompiledArena.read(compiledFile);
+            } catch (final IOException exception) {
+                this.plugin.logError("Failed to read compiled arena, falling back to schematic: " + compiledFile.getName(), exception);
+            }
+        }
+
+        final ClipboardFormat format = ClipboardFormats.findByFile(schematicFile);
+        if (format == null) {
+            this.plugin.logError("Unsupported schematic format: " + schematicFile.getName());
+            return null;
+        }
+
+        try (final ClipboardReader reader = format.getReader(new FileInputStream(schematicFile))) {
+            return reader.read();
+        }
+    }
+
+    /**
+     * Load an arena schematic into a slot of the arena world.
+     * The slot must have been reserved with {@link #acquireSlot()}.
+     */
+    public CompletableFuture<Boolean> loadArena(final String arenaName, final int slot) {
+        return this.loadArenaInWorld(arenaName, this.plugin.getWorldManager().getArenaWorld(), slot);
     }
 
     /**
      * Load an arena schematic into the arena editor world
      */
     public CompletableFuture<Boolean> loadArenaInEditor(final String arenaName) {
-        return this.loadArenaInWorld(arenaName, this.plugin.getWorldManager().getArenaEditorWorld());
+        return this.loadArenaInWorld(arenaName, this.plugin.getWorldManager().getArenaEditorWorld(), 0);
     }
 
     /**
-     * Unload an arena from the arena world
+     * Unload the arena in a slot of the arena world, remove its tracked entities and release the slot
      */
-    public CompletableFuture<Boolean> unloadArena(final String arenaName) {
-        return this.unloadArenaInWorld(arenaName, this.plugin.getWorldManager().getArenaWorld());
+    public CompletableFuture<Boolean> unloadArena(final int slot) {
+        return CompletableFuture.supplyAsync(() -> {
+            final LoadedArena loadedArena = this.loadedArenas.remove(slot);
+            if (loadedArena == null) {
+                this.releaseSlot(slot);
+                return true;
+            }
+
+            try {
+                // The pasted bounds were recorded on load, no need to read the schematic again
+                final CuboidRegion region = new CuboidRegion(BukkitAdapter.adapt(loadedArena.getWorld()),
+                        loadedArena.getMinimum(), loadedArena.getMaximum());
+
+                try (final EditSession editSession = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(loadedArena.getWorld()))) {
+                    // Set all blocks in the region to air
+                    editSession.setBlocks((Region) region, BlockTypes.AIR.getDefaultState());
+                }
+
+                this.plugin.logInfo("Successfully unloaded arena: " + loadedArena.getArena().getName() + " from slot " + slot);
+                return true;
+
+            } catch (final Exception exception) {
+                this.plugin.logError("Failed to unload arena: " + loadedArena.getArena().getName(), exception);
+                return false;
+            } finally {
+                // Entities are only touched on the main thread
+                Bukkit.getScheduler().runTask(this.plugin, () -> {
+                    final int removed = this.entityRegistry.clearSlot(slot);
+                    if (removed > 0) {
+                        this.plugin.logInfo("Removed " + removed + " tracked entities from slot " + slot);
+                    }
+                    this.releaseSlot(slot);
+                });
+            }
+        });
     }
 
     /**
      * Unload an arena from the arena editor world
      */
     public CompletableFuture<Boolean> unloadArenaFromEditor(final String arenaName) {
-        return this.unloadArenaInWorld(arenaName, this.plugin.getWorldManager().getArenaEditorWorld());
+        return CompletableFuture.supplyAsync(() -> {
+            final Arena arena = this.arenas.get(arenaName.toLowerCase());
+            final World editorWorld = this.plugin.getWorldManager().getArenaEditorWorld();
+            if (arena == null || editorWorld == null) {
+                this.plugin.logError("Arena or editor world not available for unloading: " + arenaName);
+                return false;
+            }
+
+            try {
+                // Load the schematic to get its dimensions
+                final Clipboard clipboard = this.readClipboard(arena);
+                if (clipboard == null) {
+                    return false;
+                }
+
+                // The schematic was pasted at PASTE_LOCATION in loadArenaInWorld
+                final BlockVector3 offset = PASTE_LOCATION.subtract(clipboard.getOrigin());
+                final CuboidRegion region = new CuboidRegion(BukkitAdapter.adapt(editorWorld),
+                        clipboard.getMinimumPoint().add(offset), clipboard.getMaximumPoint().add(offset));
+
+                try (final EditSession editSession = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(editorWorld))) {
+                    // Set all blocks in the region to air
+                    editSession.setBlocks((Region) region, BlockTypes.AIR.getDefaultState());
+                }
+
+                this.plugin.logInfo("Successfully unloaded arena from editor: " + arenaName);
+                return true;
+
+            } catch (final Exception exception) {
+                this.plugin.logError("Failed to unload arena: " + arenaName, exception);
+                return false;
+            }
+        });
     }
 
     /**
-     * Pre-load an arena into the arena world to reduce game start lag
+     * Pre-load an arena into a free slot of the arena world to reduce game start lag
      */
     public CompletableFuture<Boolean> preloadArena(final String arenaName) {
         return CompletableFuture.supplyAsync(() -> {
-            if (this.arenaPreloaded && arenaName.equalsIgnoreCase(this.preloadedArenaName)) {
+            if (this.isArenaPreloaded(arenaName)) {
                 this.plugin.logInfo("Arena " + arenaName + " is already preloaded");
                 return true;
             }
 
             // Unload current arena if one is loaded
-            if (this.arenaPreloaded && this.preloadedArenaName != null) {
-                this.plugin.logInfo("Unloading previously preloaded arena: " + this.preloadedArenaName);
-                this.unloadArena(this.preloadedArenaName).join();
-            }
+            this.clearPreloadedArena().join();
 
             this.plugin.logInfo("Pre-loading arena: " + arenaName);
-            return this.loadArena(arenaName).join();
+            final int slot = this.acquireSlot();
+            if (!this.loadArena(arenaName, slot).join()) {
+                this.releaseSlot(slot);
+                return false;
+            }
+
+            synchronized (this) {
+                this.preloadedSlot = slot;
+                this.preloadedArenaName = arenaName;
+            }
+            return true;
         });
     }
 
+    /**
+     * Take ownership of the preloaded arena for a game
+     *
+     * @return the slot the arena is loaded in, or -1 if that arena is not preloaded
+     */
+    public synchronized int claimPreloadedArena(final String arenaName) {
+        if (!this.isArenaPreloaded(arenaName)) return -1;
+
+        final int slot = this.preloadedSlot;
+        this.preloadedSlot = -1;
+        this.preloadedArenaName = null;
+        return slot;
+    }
+
     /**
      * Check if a specific arena is currently preloaded
      */
-    public boolean isArenaPreloaded(final String arenaName) {
-        return this.arenaPreloaded && arenaName.equalsIgnoreCase(this.preloadedArenaName);
+    public synchronized boolean isArenaPreloaded(final String arenaName) {
+        return this.preloadedSlot >= 0 && arenaName.equalsIgnoreCase(this.preloadedArenaName);
     }
 
     /**
      * Get the name of the currently preloaded arena
      */
-    public String getPreloadedArenaName() {
+    public synchronized String getPreloadedArenaName() {
         return this.preloadedArenaName;
     }
 
@@ -416,13 +591,17 @@ public final class ArenaManager {
      * Clear any preloaded arena
      */
     public CompletableFuture<Boolean> clearPreloadedArena() {
-        return CompletableFuture.supplyAsync(() -> {
-            if (!this.arenaPreloaded || this.preloadedArenaName == null) {
-                return true;
+        final int slot;
+        synchronized (this) {
+            if (this.preloadedSlot < 0) {
+                return CompletableFuture.completedFuture(true);
             }
 
             this.plugin.logInfo("Clearing preloaded arena: " + this.preloadedArenaName);
-            return this.unloadArena(this.preloadedArenaName).join();
-        });
+            slot = this.preloadedSlot;
+            this.preloadedSlot = -1;
+            this.preloadedArenaName = null;
+        }
+        return this.unloadArena(slot);
     }
 }
@@ -0,0 +1,237 @@
+package me.FrogTerra.paintball.arena;
+
+import com.sk89q.worldedit.WorldEditException;
+import com.sk89q.worldedit.extent.clipboard.BlockArrayClipboard;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockTypes;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fast-load arena format: tight bounds, a block state palette and run-length encoded palette indices.
+ * Decoding skips NBT parsing and air entirely, so it is much cheaper than reading a schematic.
+ * Entities are not stored; spawn points live in the arena configuration. Block entity data (sign text,
+ * container contents, banner patterns, heads) is not stored either, so arenas that have any are never compiled.
+ */
+public final class CompiledArena {
+
+    public static final String EXTENSION = ".pbarena";
+
+    private static final int MAGIC = 0x50424152; // "PBAR"
+    private static final int VERSION = 1;
+
+    private CompiledArena() {
+    }
+
+    /**
+     * Write the blocks of a clipboard between min and max (inclusive).
+     * Arenas with block entities are skipped and any stale compiled file of theirs is deleted.
+     *
+     * @return the number of bytes written, or 0 if the arena has block entities
+     */
+    public static long write(final Clipboard clipboard, final BlockVector3 min, final BlockVector3 max, final File file) throws IOException {
+        final Map<String, Integer> paletteIndex = new HashMap<>();
+        final List<String> palette = new ArrayList<>();
+        palette.add(BlockTypes.AIR.getDefaultState().getAsString());
+        paletteIndex.put(palette.get(0), 0);
+
+        final int width = max.getX() - min.getX() + 1;
+        final int height = max.getY() - min.getY() + 1;
+        final int length = max.getZ() - min.getZ() + 1;
+        final int[] blocks = new int[width * height * length];
+
+        int index = 0;
+        for (int y = min.getY(); y <= max.getY(); y++) {
+            for (int z = min.getZ(); z <= max.getZ(); z++) {
+                for (int x = min.getX(); x <= max.getX(); x++) {
+                    final BaseBlock block = clipboard.getFullBlock(x, y, z);
+                    if (block == null || block.getBlockType().getMaterial().isAir()) {
+                        blocks[index++] = 0;
+                        continue;
+                    }
+                    if (block.getNbtReference() != null) {
+                        Files.deleteIfExists(file.toPath());
+                        return 0L;
+                    }
+
+                    final String key = block.toImmutableState().getAsString();
+                    Integer id = paletteIndex.get(key);
+                    if (id == null) {
+                        id = palette.size();
+                        palette.add(key);
+                        paletteIndex.put(key, id);
+                    }
+                    blocks[index++] = id;
+                }
+            }
+        }
+
+        file.getParentFile().mkdirs();
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+
+            final BlockVector3 origin = clipboard.getOrigin();
+            writeVector(out, min);
+            writeVector(out, max);
+            writeVector(out, origin);
+
+            out.writeInt(palette.size());
+            for (final String entry : palette) {
+                out.writeUTF(entry);
+            }
+
+            // Runs of identical palette entries, air in particular compresses very well
+            int position = 0;
+            while (position < blocks.length) {
+                final int id = blocks[position];
+                int run = 1;
+                while (position + run < blocks.length && blocks[position + run] == id) {
+                    run++;
+                }
+                writeVarInt(out, run);
+                writeVarInt(out, id);
+                position += run;
+            }
+
+            out.flush();
+            return out.size();
+        }
+    }
+
+    /**
+     * Read a compiled arena back into a clipboard
+     */
+    public static Clipboard read(final File file) throws IOException {
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a compiled arena: " + file.getName());
+            }
+            final int version = in.readShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported compiled arena version " + version + ": " + file.getName());
+            }
+
+            final BlockVector3 min = readVector(in);
+            final BlockVector3 max = readVector(in);
+            final BlockVector3 origin = readVector(in);
+
+            // A corrupt header must surface as an IOException so the schematic is used instead
+            final long volume = ((long) max.getX() - min.getX() + 1) * ((long) max.getY() - min.getY() + 1)
+                    * ((long) max.getZ() - min.getZ() + 1);
+            if (max.getX() < min.getX() || max.getY() < min.getY() || max.getZ() < min.getZ() || volume > Integer.MAX_VALUE) {
+                throw new IOException("Invalid bounds in compiled arena: " + file.getName());
+            }
+
+            final int paletteSize = in.readInt();
+            if (paletteSize <= 0 || paletteSize > volume) {
+                throw new IOException("Invalid palette size " + paletteSize + " in compiled arena: " + file.getName());
+            }
+            final BlockState[] palette = new BlockState[paletteSize];
+            for (int i = 0; i < palette.length; i++) {
+                palette[i] = parseState(in.readUTF(), file);
+            }
+
+            final Clipboard clipboard = new BlockArrayClipboard(new CuboidRegion(min, max));
+            clipboard.setOrigin(origin);
+
+            final int width = max.getX() - min.getX() + 1;
+            final int length = max.getZ() - min.getZ() + 1;
+            final int total = (int) volume;
+
+            int position = 0;
+            while (position < total) {
+                final int run = readVarInt(in);
+                final int index = readVarInt(in);
+                if (run <= 0 || run > total - position || index < 0 || index >= palette.length) {
+                    throw new IOException("Corrupt block data at " + position + " in compiled arena: " + file.getName());
+                }
+                final BlockState state = palette[index];
+
+                if (state.getBlockType().getMaterial().isAir()) {
+                    position += run;
+                    continue;
+                }
+
+                for (int i = 0; i < run; i++, position++) {
+                    final int x = position % width;
+                    final int z = (position / width) % length;
+                    final int y = position / (width * length);
+                    try {
+                        clipboard.setBlock(min.getX() + x, min.getY() + y, min.getZ() + z, state);
+                    } catch (final WorldEditException exception) {
+                        throw new IOException("Failed to place block in compiled arena: " + file.getName(), exception);
+                    }
+                }
+            }
+
+            return clipboard;
+        }
+    }
+
+    /**
+     * Parse a palette entry, rejecting the file if it names a state this server does not know
+     * rather than loading the arena with blocks missing
+     */
+    private static BlockState parseState(final String input, final File file) throws IOException {
+        final BlockState state;
+        try {
+            state = BlockState.get(input);
+        } catch (final Exception exception) {
+            throw new IOException("Unknown block state " + input + " in compiled arena: " + file.getName(), exception);
+        }
+        if (state == null) {
+            throw new IOException("Unknown block state " + input + " in compiled arena: " + file.getName());
+        }
+        return state;
+    }
+
+    private static void writeVector(final DataOutputStream out, final BlockVector3 vector) throws IOException {
+        out.writeInt(vector.getX());
+        out.writeInt(vector.getY());
+        out.writeInt(vector.getZ());
+    }
+
+    private static BlockVector3 readVector(final DataInputStream in) throws IOException {
+        return BlockVector3.at(in.readInt(), in.readInt(), in.readInt());
+    }
+
+    private static void writeVarInt(final DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(final DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            if (shift > 28) {
+                throw new IOException("VarInt too long");
+            }
+            current = in.readByte();
+            value |= (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,247 @@
+package me.FrogTerra.paintball.arena;
+
+import com.sk89q.worldedit.EditSession;
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.WorldEditException;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import lombok.Getter;
+import me.FrogTerra.paintball.Paintball;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Streams an arena into the editor world a few chunk columns per tick, nearest to the builder first.
+ * Only visited chunks are ever pasted, and saving merges just those chunks back into the source clipboard.
+ */
+public final class EditorStreamer {
+
+    // Chunk radius pasted around the builder
+    private static final int RADIUS = 6;
+    // Chunk columns pasted per tick
+    private static final int COLUMNS_PER_TICK = 2;
+    // Chunk offsets within the radius, nearest first
+    private static final int[][] OFFSETS = buildOffsets();
+
+    private final Paintball plugin;
+    @Getter private final Arena arena;
+    private final Clipboard source;
+    private final World world;
+    private final BlockVector3 min;
+    private final BlockVector3 max;
+    private final int offsetX;
+    private final int offsetY;
+    private final int offsetZ;
+    private final Set<Long> loadedChunks = new HashSet<>();
+    private BukkitTask task;
+
+    public EditorStreamer(final Paintball plugin, final Arena arena, final Clipboard source, final World world, final BlockVector3 pasteLocation) {
+        this.plugin = plugin;
+        this.arena = arena;
+        this.source = source;
+        this.world = world;
+        this.min = source.getMinimumPoint();
+        this.max = source.getMaximumPoint();
+
+        final BlockVector3 offset = pasteLocation.subtract(source.getOrigin());
+        this.offsetX = offset.getX();
+        this.offsetY = offset.getY();
+        this.offsetZ = offset.getZ();
+    }
+
+    /**
+     * Start streaming chunks around a player
+     */
+    public void start(final Player player) {
+        this.stop();
+        this.task = Bukkit.getScheduler().runTaskTimer(this.plugin, () -> this.tick(player), 1L, 1L);
+    }
+
+    /**
+     * Stop streaming, already pasted chunks are left in the world
+     */
+    public void stop() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    /**
+     * Get the number of chunk columns pasted so far
+     */
+    public int getLoadedChunkCount() {
+        return this.loadedChunks.size();
+    }
+
+    private void tick(final Player player) {
+        if (!player.isOnline()) {
+            this.stop();
+            return;
+        }
+        if (player.getWorld() != this.world) return;
+
+        final int centerX = player.getLocation().getBlockX() >> 4;
+        final int centerZ = player.getLocation().getBlockZ() >> 4;
+
+        EditSession editSession = null;
+        try {
+            int pasted = 0;
+            for (final int[] offset : OFFSETS) {
+                final int chunkX = centerX + offset[0];
+                final int chunkZ = centerZ + offset[1];
+                if (!this.overlaps(chunkX, chunkZ) || !this.loadedChunks.add(Chunk.getChunkKey(chunkX, chunkZ))) continue;
+
+                if (editSession == null) {
+                    editSession = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(this.world));
+                }
+                this.pasteColumn(editSession, chunkX, chunkZ);
+
+                if (++pasted >= COLUMNS_PER_TICK) break;
+            }
+        } catch (final WorldEditException exception) {
+            this.plugin.logError("Failed to stream arena chunk for " + this.arena.getName(), exception);
+        } finally {
+            if (editSession != null) {
+                editSession.close();
+            }
+        }
+    }
+
+    /**
+     * Paste the part of the clipboard that falls into one chunk column, air and block entity data included
+     */
+    private void pasteColumn(final EditSession editSession, final int chunkX, final int chunkZ) throws WorldEditException {
+        final int fromX = Math.max(this.min.getX(), (chunkX << 4) - this.offsetX);
+        final int toX = Math.min(this.max.getX(), (chunkX << 4) + 15 - this.offsetX);
+        final int fromZ = Math.max(this.min.getZ(), (chunkZ << 4) - this.offsetZ);
+        final int toZ = Math.min(this.max.getZ(), (chunkZ << 4) + 15 - this.offsetZ);
+
+        for (int y = this.min.getY(); y <= this.max.getY(); y++) {
+            for (int z = fromZ; z <= toZ; z++) {
+                for (int x = fromX; x <= toX; x++) {
+                    editSession.setBlock(BlockVector3.at(x + this.offsetX, y + this.offsetY, z + this.offsetZ), this.source.getFullBlock(x, y, z));
+                }
+            }
+        }
+    }
+
+    /**
+     * Check whether a chunk column intersects the clipboard in world coordinates
+     */
+    private boolean overlaps(final int chunkX, final int chunkZ) {
+        final int blockX = chunkX << 4;
+        final int blockZ = chunkZ << 4;
+        return blockX + 15 >= this.min.getX() + this.offsetX && blockX <= this.max.getX() + this.offsetX
+                && blockZ + 15 >= this.min.getZ() + this.offsetZ && blockZ <= this.max.getZ() + this.offsetZ;
+    }
+
+    /**
+     * Stop streaming and merge the visited chunks back into the source clipboard.
+     * Chunks and their block entities are captured on the main thread and merged asynchronously; chunks that
+     * were never pasted keep their original blocks. Blocks outside the clipboard bounds are not saved.
+     *
+     * @return the merged clipboard
+     */
+    public CompletableFuture<Clipboard> merge() {
+        final CompletableFuture<VisitedChunks> visited = new CompletableFuture<>();
+
+        Bukkit.getScheduler().runTask(this.plugin, () -> {
+            this.stop();
+
+            // Chunk snapshots carry no tile data, so signs, chests, banners and heads are read in full here
+            final com.sk89q.worldedit.world.World editorWorld = BukkitAdapter.adapt(this.world);
+            final List<ChunkSnapshot> chunks = new ArrayList<>(this.loadedChunks.size());
+            final Map<BlockVector3, BaseBlock> blockEntities = new HashMap<>();
+            for (final long chunkKey : this.loadedChunks) {
+                final int chunkX = (int) chunkKey;
+                final int chunkZ = (int) (chunkKey >> 32);
+                final Chunk chunk = this.world.getChunkAt(chunkX, chunkZ);
+                chunks.add(chunk.getChunkSnapshot(false, false, false));
+                for (final BlockState tileState : chunk.getTileEntities()) {
+                    final BlockVector3 position = BlockVector3.at(tileState.getX(), tileState.getY(), tileState.getZ());
+                    blockEntities.put(position, editorWorld.getFullBlock(position));
+                }
+            }
+            visited.complete(new VisitedChunks(chunks, blockEntities));
+        });
+
+        return visited.thenApplyAsync(captured -> {
+            for (final ChunkSnapshot snapshot : captured.snapshots()) {
+                final int fromX = Math.max(this.min.getX(), (snapshot.getX() << 4) - this.offsetX);
+                final int toX = Math.min(this.max.getX(), (snapshot.getX() << 4) + 15 - this.offsetX);
+                final int fromZ = Math.max(this.min.getZ(), (snapshot.getZ() << 4) - this.offsetZ);
+                final int toZ = Math.min(this.max.getZ(), (snapshot.getZ() << 4) + 15 - this.offsetZ);
+
+                for (int y = this.min.getY(); y <= this.max.getY(); y++) {
+                    for (int z = fromZ; z <= toZ; z++) {
+                        for (int x = fromX; x <= toX; x++) {
+                            final int worldX = x + this.offsetX;
+                            final int worldZ = z + this.offsetZ;
+                            try {
+                                this.source.setBlock(x, y, z, BukkitAdapter.adapt(
+                                        snapshot.getBlockData(worldX & 15, y + this.offsetY, worldZ & 15)));
+                            } catch (final WorldEditException exception) {
+                                throw new IllegalStateException("Failed to merge block at " + worldX + ", " + (y + this.offsetY) + ", " + worldZ, exception);
+                            }
+                        }
+                    }
+                }
+            }
+
+            // Put the block entity data back over the bare states written above
+            for (final Map.Entry<BlockVector3, BaseBlock> entry : captured.blockEntities().entrySet()) {
+                final BlockVector3 position = entry.getKey();
+                final int x = position.getX() - this.offsetX;
+                final int y = position.getY() - this.offsetY;
+                final int z = position.getZ() - this.offsetZ;
+                if (x < this.min.getX() || x > this.max.getX() || y < this.min.getY() || y > this.max.getY()
+                        || z < this.min.getZ() || z > this.max.getZ()) continue;
+
+                try {
+                    this.source.setBlock(x, y, z, entry.getValue());
+                } catch (final WorldEditException exception) {
+                    throw new IllegalStateException("Failed to merge block entity at " + position, exception);
+                }
+            }
+            return this.source;
+        });
+    }
+
+    /**
+     * The visited chunks of the editor world, captured on the main thread
+     */
+    private record VisitedChunks(List<ChunkSnapshot> snapshots, Map<BlockVector3, BaseBlock> blockEntities) {
+    }
+
+    private static int[][] buildOffsets() {
+        final List<int[]> offsets = new ArrayList<>();
+        for (int x = -RADIUS; x <= RADIUS; x++) {
+            for (int z = -RADIUS; z <= RADIUS; z++) {
+                if (x * x + z * z <= RADIUS * RADIUS) {
+                    offsets.add(new int[]{x, z});
+                }
+            }
+        }
+
+        final int[][] sorted = offsets.toArray(new int[0][]);
+        Arrays.sort(sorted, (a, b) -> Integer.compare(a[0] * a[0] + a[1] * a[1], b[0] * b[0] + b[1] * b[1]));
+        return sorted;
+    }
+}
@@ -0,0 +1,42 @@
+package me.FrogTerra.paintball.arena;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import lombok.Getter;
+import org.bukkit.World;
+
+/**
+ * Runtime state of an arena that has been pasted into a slot of a world
+ */
+@Getter
+public final class LoadedArena {
+
+    private final Arena arena;
+    private final World world;
+    private final int slot;
+    private final int pasteX;
+    private final int pasteY;
+    private final int pasteZ;
+    private final BlockVector3 minimum;
+    private final BlockVector3 maximum;
+    private final VoxelOccupancy occupancy;
+
+    public LoadedArena(final Arena arena, final World world, final int slot, final BlockVector3 pasteLocation,
+                       final BlockVector3 minimum, final BlockVector3 maximum, final VoxelOccupancy occupancy) {
+        this.arena = arena;
+        this.world = world;
+        this.slot = slot;
+        this.pasteX = pasteLocation.getX();
+        this.pasteY = pasteLocation.getY();
+        this.pasteZ = pasteLocation.getZ();
+        this.minimum = minimum;
+        this.maximum = maximum;
+        this.occupancy = occupancy;
+    }
+
+    /**
+     * Check if a world is the one this arena was pasted into
+     */
+    public boolean isIn(final World world) {
+        return this.world.equals(world);
+    }
+}
@@ -0,0 +1,227 @@
+package me.FrogTerra.paintball.arena;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Packed spawn point storage, four floats (x, y, z, yaw) per point for each spawn type.
+ * Coordinates are relative to the arena's paste location so no world is stored.
+ */
+public final class SpawnPoints {
+
+    private static final int STRIDE = 4;
+    private static final Arena.SpawnType[] TYPES = Arena.SpawnType.values();
+
+    private final float[][] points = new float[TYPES.length][];
+    private final int[] counts = new int[TYPES.length];
+
+    public SpawnPoints() {
+        Arrays.fill(this.points, new float[0]);
+    }
+
+    /**
+     * Get the number of spawn points of a type
+     */
+    public int count(final Arena.SpawnType spawnType) {
+        return this.counts[spawnType.ordinal()];
+    }
+
+    /**
+     * Add a spawn point relative to the paste location
+     */
+    public void add(final Arena.SpawnType spawnType, final double x, final double y, final double z, final float yaw) {
+        final int type = spawnType.ordinal();
+        final int count = this.counts[type];
+        float[] packed = this.points[type];
+
+        if ((count + 1) * STRIDE > packed.length) {
+            packed = Arrays.copyOf(packed, Math.max(STRIDE * 4, packed.length * 2));
+            this.points[type] = packed;
+        }
+
+        final int offset = count * STRIDE;
+        packed[offset] = (float) x;
+        packed[offset + 1] = (float) y;
+        packed[offset + 2] = (float) z;
+        packed[offset + 3] = yaw;
+        this.counts[type] = count + 1;
+    }
+
+    /**
+     * Remove every spawn point of a type within half a block of the given relative position
+     */
+    public boolean remove(final Arena.SpawnType spawnType, final double x, final double y, final double z) {
+        final int type = spawnType.ordinal();
+        final float[] packed = this.points[type];
+        int count = this.counts[type];
+        boolean removed = false;
+
+        for (int i = count - 1; i >= 0; i--) {
+            final int offset = i * STRIDE;
+            if (Math.abs(packed[offset] - x) < 0.5 && Math.abs(packed[offset + 1] - y) < 0.5 && Math.abs(packed[offset + 2] - z) < 0.5) {
+                // Swap the last point into the hole, order is not significant
+                count--;
+                System.arraycopy(packed, count * STRIDE, packed, offset, STRIDE);
+                removed = true;
+            }
+        }
+
+        this.counts[type] = count;
+        return removed;
+    }
+
+    /**
+     * Remove all spawn points of a type
+     */
+    public void clear(final Arena.SpawnType spawnType) {
+        this.counts[spawnType.ordinal()] = 0;
+    }
+
+    public double getX(final Arena.SpawnType spawnType, final int index) {
+        return this.points[spawnType.ordinal()][this.offset(spawnType, index)];
+    }
+
+    public double getY(final Arena.SpawnType spawnType, final int index) {
+        return this.points[spawnType.ordinal()][this.offset(spawnType, index) + 1];
+    }
+
+    public double getZ(final Arena.SpawnType spawnType, final int index) {
+        return this.points[spawnType.ordinal()][this.offset(spawnType, index) + 2];
+    }
+
+    public float getYaw(final Arena.SpawnType spawnType, final int index) {
+        return this.points[spawnType.ordinal()][this.offset(spawnType, index) + 3];
+    }
+
+    /**
+     * Turn a spawn point into a location in a world where the arena was pasted at the given offset
+     */
+    public Location toLocation(final Arena.SpawnType spawnType, final int index, final World world,
+                               final double offsetX, final double offsetY, final double offsetZ) {
+        final float[] packed = this.points[spawnType.ordinal()];
+        final int offset = this.offset(spawnType, index);
+        return new Location(world, packed[offset] + offsetX, packed[offset + 1] + offsetY, packed[offset + 2] + offsetZ,
+                packed[offset + 3], 0.0f); // Fixed pitch looking straight ahead
+    }
+
+    private int offset(final Arena.SpawnType spawnType, final int index) {
+        if (index < 0 || index >= this.counts[spawnType.ordinal()]) {
+            throw new IndexOutOfBoundsException("Spawn index " + index + " out of range for " + spawnType);
+        }
+        return index * STRIDE;
+    }
+
+    /**
+     * Convert the old per-type Location lists of an arena entry into the packed spawns object.
+     * Old locations were stored in world coordinates of a paste at the given location.
+     *
+     * @return true if the entry contained legacy spawn lists
+     */
+    public static boolean migrateLegacy(final JsonObject arenaJson, final double pasteX, final double pasteY, final double pasteZ) {
+        final String[] legacyKeys = {"redSpawns", "blueSpawns", "freeForAllSpawns", "redFlagSpawns", "blueFlagSpawns"};
+        final Arena.SpawnType[] legacyTypes = {
+                Arena.SpawnType.RED_SPAWN, Arena.SpawnType.BLUE_SPAWN, Arena.SpawnType.FREE_FOR_ALL_SPAWN,
+                Arena.SpawnType.RED_FLAG_SPAWN, Arena.SpawnType.BLUE_FLAG_SPAWN
+        };
+
+        boolean migrated = false;
+        final JsonObject spawns = arenaJson.has("spawns") ? arenaJson.getAsJsonObject("spawns") : new JsonObject();
+
+        for (int i = 0; i < legacyKeys.length; i++) {
+            final JsonElement legacy = arenaJson.remove(legacyKeys[i]);
+            if (legacy == null || !legacy.isJsonArray()) continue;
+
+            final JsonArray packed = new JsonArray();
+            for (final JsonElement element : legacy.getAsJsonArray()) {
+                if (!element.isJsonObject()) continue;
+
+                final JsonObject location = element.getAsJsonObject();
+                packed.add((float) (location.get("x").getAsDouble() - pasteX));
+                packed.add((float) (location.get("y").getAsDouble() - pasteY));
+                packed.add((float) (location.get("z").getAsDouble() - pasteZ));
+                packed.add(location.has("yaw") ? location.get("yaw").getAsFloat() : 0.0f);
+            }
+
+            if (!packed.isEmpty()) {
+                spawns.add(legacyTypes[i].name(), packed);
+            }
+            migrated = true;
+        }
+
+        if (migrated) {
+            arenaJson.add("spawns", spawns);
+        }
+        return migrated;
+    }
+
+    /**
+     * Streaming codec writing each spawn type as one flat number array
+     */
+    public static final class Adapter extends TypeAdapter<SpawnPoints> {
+
+        @Override
+        public void write(final JsonWriter writer, final SpawnPoints spawnPoints) throws IOException {
+            if (spawnPoints == null) {
+                writer.nullValue();
+                return;
+            }
+
+            writer.beginObject();
+            for (final Arena.SpawnType spawnType : TYPES) {
+                final int count = spawnPoints.count(spawnType);
+                if (count == 0) continue;
+
+                final float[] packed = spawnPoints.points[spawnType.ordinal()];
+                writer.name(spawnType.name());
+                writer.beginArray();
+                for (int i = 0; i < count * STRIDE; i++) {
+                    writer.value(packed[i]);
+                }
+                writer.endArray();
+            }
+            writer.endObject();
+        }
+
+        @Override
+        public SpawnPoints read(final JsonReader reader) throws IOException {
+            final SpawnPoints spawnPoints = new SpawnPoints();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return spawnPoints;
+            }
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final Arena.SpawnType spawnType;
+                try {
+                    spawnType = Arena.SpawnType.valueOf(reader.nextName());
+                } catch (final IllegalArgumentException exception) {
+                    reader.skipValue();
+                    continue;
+                }
+
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    final double x = reader.nextDouble();
+                    final double y = reader.nextDouble();
+                    final double z = reader.nextDouble();
+                    final float yaw = (float) reader.nextDouble();
+                    spawnPoints.add(spawnType, x, y, z, yaw);
+                }
+                reader.endArray();
+            }
+            reader.endObject();
+            return spawnPoints;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package me.FrogTerra.paintball.arena;
+
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.registry.BlockMaterial;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Compact solidity bitset for a pasted arena, one bit per block.
+ * A second bitset of the same layout marks the full, opaque cubes that paint may replace on clients;
+ * slabs, stairs, fences and the like are solid but keep their shape. Bits are tiled by 16x16x16 chunk sections so a section's blocks share 64 consecutive words.
+ * Reads and raycasts are lock-free and safe from any thread.
+ */
+public final class VoxelOccupancy {
+
+    private static final int SECTION_SIZE = 16;
+    private static final int WORDS_PER_SECTION = (SECTION_SIZE * SECTION_SIZE * SECTION_SIZE) / Long.SIZE;
+
+    @Getter private final int originX;
+    @Getter private final int originY;
+    @Getter private final int originZ;
+    private final int sectionsX;
+    private final int sectionsY;
+    private final int sectionsZ;
+    private final AtomicLongArray words;
+    private final AtomicLongArray paintable;
+
+    private VoxelOccupancy(final int originX, final int originY, final int originZ,
+                           final int sectionsX, final int sectionsY, final int sectionsZ, final long[] words, final long[] paintable) {
+        this.originX = originX;
+        this.originY = originY;
+        this.originZ = originZ;
+        this.sectionsX = sectionsX;
+        this.sectionsY = sectionsY;
+        this.sectionsZ = sectionsZ;
+        this.words = new AtomicLongArray(words);
+        this.paintable = new AtomicLongArray(paintable);
+    }
+
+    /**
+     * Build the occupancy of a clipboard as it appears when pasted at the given location
+     */
+    public static VoxelOccupancy fromClipboard(final Clipboard clipboard, final BlockVector3 pasteLocation) {
+        final BlockVector3 offset = pasteLocation.subtract(clipboard.getOrigin());
+        final BlockVector3 min = clipboard.getMinimumPoint();
+        final BlockVector3 max = clipboard.getMaximumPoint();
+
+        // Align the grid to world chunk sections
+        final int originX = Math.floorDiv(min.getX() + offset.getX(), SECTION_SIZE) * SECTION_SIZE;
+        final int originY = Math.floorDiv(min.getY() + offset.getY(), SECTION_SIZE) * SECTION_SIZE;
+        final int originZ = Math.floorDiv(min.getZ() + offset.getZ(), SECTION_SIZE) * SECTION_SIZE;
+        final int sectionsX = Math.floorDiv(max.getX() + offset.getX() - originX, SECTION_SIZE) + 1;
+        final int sectionsY = Math.floorDiv(max.getY() + offset.getY() - originY, SECTION_SIZE) + 1;
+        final int sectionsZ = Math.floorDiv(max.getZ() + offset.getZ() - originZ, SECTION_SIZE) + 1;
+
+        final long[] words = new long[sectionsX * sectionsY * sectionsZ * WORDS_PER_SECTION];
+        final long[] paintable = new long[words.length];
+
+        for (int y = min.getY(); y <= max.getY(); y++) {
+            for (int z = min.getZ(); z <= max.getZ(); z++) {
+                for (int x = min.getX(); x <= max.getX(); x++) {
+                    final BlockState state = clipboard.getBlock(x, y, z);
+                    if (state == null) continue;
+
+                    final BlockMaterial material = state.getBlockType().getMaterial();
+                    if (!material.isSolid()) continue;
+
+                    final int bit = bitIndex(x + offset.getX() - originX, y + offset.getY() - originY, z + offset.getZ() - originZ,
+                            sectionsX, sectionsY, sectionsZ);
+                    words[bit >>> 6] |= 1L << (bit & 63);
+                    if (material.isFullCube() && material.isOpaque()) {
+                        paintable[bit >>> 6] |= 1L << (bit & 63);
+                    }
+                }
+            }
+        }
+
+        return new VoxelOccupancy(originX, originY, originZ, sectionsX, sectionsY, sectionsZ, words, paintable);
+    }
+
+    /**
+     * Check whether the block at the given world coordinates is solid.
+     * Blocks outside the arena are always empty.
+     */
+    public boolean isSolid(final int x, final int y, final int z) {
+        final int bit = this.bitIndex(x, y, z);
+        return bit >= 0 && (this.words.get(bit >>> 6) & (1L << (bit & 63))) != 0;
+    }
+
+    /**
+     * Check whether the block at the given world coordinates is a full, opaque cube that can be painted
+     */
+    public boolean isPaintable(final int x, final int y, final int z) {
+        final int bit = this.bitIndex(x, y, z);
+        return bit >= 0 && (this.paintable.get(bit >>> 6) & (1L << (bit & 63))) != 0;
+    }
+
+    /**
+     * Update a single block, e.g. when a block is placed or broken during the match
+     */
+    public void update(final int x, final int y, final int z, final boolean solid, final boolean paintable) {
+        final int bit = this.bitIndex(x, y, z);
+        if (bit < 0) return;
+
+        set(this.words, bit, solid);
+        set(this.paintable, bit, paintable);
+    }
+
+    private static void set(final AtomicLongArray words, final int bit, final boolean value) {
+        final int word = bit >>> 6;
+        final long mask = 1L << (bit & 63);
+        long current;
+        long updated;
+        do {
+            current = words.get(word);
+            updated = value ? current | mask : current & ~mask;
+        } while (current != updated && !words.compareAndSet(word, current, updated));
+    }
+
+    /**
+     * Get the number of solid blocks
+     */
+    public int countSolid() {
+        int count = 0;
+        for (int i = 0; i < this.words.length(); i++) {
+            count += Long.bitCount(this.words.get(i));
+        }
+        return count;
+    }
+
+    /**
+     * Get the memory used by both bitsets in bytes
+     */
+    public long getSizeInBytes() {
+        return (long) (this.words.length() + this.paintable.length()) * Long.BYTES;
+    }
+
+    /**
+     * Cast a ray through the block grid using a DDA traversal.
+     * Does not allocate; the result is written into the supplied hit.
+     *
+     * @return true if a solid block was hit within maxDistance
+     */
+    public boolean raycast(final double startX, final double startY, final double startZ,
+                           final double directionX, final double directionY, final double directionZ,
+                           final double maxDistance, final Hit hit) {
+        final double length = Math.sqrt(directionX * directionX + directionY * directionY + directionZ * directionZ);
+        if (length == 0.0 || maxDistance <= 0.0) return false;
+
+        final double dx = directionX / length;
+        final double dy = directionY / length;
+        final double dz = directionZ / length;
+
+        int x = (int) Math.floor(startX);
+        int y = (int) Math.floor(startY);
+        int z = (int) Math.floor(startZ);
+
+        final int stepX = dx > 0 ? 1 : dx < 0 ? -1 : 0;
+        final int stepY = dy > 0 ? 1 : dy < 0 ? -1 : 0;
+        final int stepZ = dz > 0 ? 1 : dz < 0 ? -1 : 0;
+
+        final double deltaX = stepX != 0 ? Math.abs(1.0 / dx) : Double.POSITIVE_INFINITY;
+        final double deltaY = stepY != 0 ? Math.abs(1.0 / dy) : Double.POSITIVE_INFINITY;
+        final double deltaZ = stepZ != 0 ? Math.abs(1.0 / dz) : Double.POSITIVE_INFINITY;
+
+        double maxX = stepX > 0 ? (x + 1 - startX) * deltaX : stepX < 0 ? (startX - x) * deltaX : Double.POSITIVE_INFINITY;
+        double maxY = stepY > 0 ? (y + 1 - startY) * deltaY : stepY < 0 ? (startY - y) * deltaY : Double.POSITIVE_INFINITY;
+        double maxZ = stepZ > 0 ? (z + 1 - startZ) * deltaZ : stepZ < 0 ? (startZ - z) * deltaZ : Double.POSITIVE_INFINITY;
+
+        // Starting inside a block counts as an immediate hit with no face
+        if (this.isSolid(x, y, z)) {
+            hit.set(x, y, z, 0, 0, 0, 0.0);
+            return true;
+        }
+
+        final int limitX = this.originX + this.sectionsX * SECTION_SIZE;
+        final int limitY = this.originY + this.sectionsY * SECTION_SIZE;
+        final int limitZ = this.originZ + this.sectionsZ * SECTION_SIZE;
+
+        double distance = 0.0;
+        while (true) {
+            int normalX = 0;
+            int normalY = 0;
+            int normalZ = 0;
+
+            if (maxX < maxY && maxX < maxZ) {
+                distance = maxX;
+                maxX += deltaX;
+                x += stepX;
+                normalX = -stepX;
+            } else if (maxY < maxZ) {
+                distance = maxY;
+                maxY += deltaY;
+                y += stepY;
+                normalY = -stepY;
+            } else {
+                distance = maxZ;
+                maxZ += deltaZ;
+                z += stepZ;
+                normalZ = -stepZ;
+            }
+
+            if (distance > maxDistance) return false;
+
+            // Stop once the ray has left the grid and is moving further away
+            if ((x < this.originX && stepX <= 0) || (x >= limitX && stepX >= 0)
+                    || (y < this.originY && stepY <= 0) || (y >= limitY && stepY >= 0)
+                    || (z < this.originZ && stepZ <= 0) || (z >= limitZ && stepZ >= 0)) {
+                return false;
+            }
+
+            if (this.isSolid(x, y, z)) {
+                hit.set(x, y, z, normalX, normalY, normalZ, distance);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Check whether the straight line between two points is free of solid blocks
+     */
+    public boolean hasLineOfSight(final double fromX, final double fromY, final double fromZ,
+                                  final double toX, final double toY, final double toZ, final Hit scratch) {
+        final double dx = toX - fromX;
+        final double dy = toY - fromY;
+        final double dz = toZ - fromZ;
+        final double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        return distance == 0.0 || !this.raycast(fromX, fromY, fromZ, dx, dy, dz, distance, scratch);
+    }
+
+    /**
+     * Map world coordinates to a bit index, or -1 when outside the grid
+     */
+    private int bitIndex(final int x, final int y, final int z) {
+        return bitIndex(x - this.originX, y - this.originY, z - this.originZ, this.sectionsX, this.sectionsY, this.sectionsZ);
+    }
+
+    /**
+     * Map grid-local coordinates to a bit index, or -1 when outside the grid
+     */
+    private static int bitIndex(final int localX, final int localY, final int localZ,
+                                final int sectionsX, final int sectionsY, final int sectionsZ) {
+        if (localX < 0 || localY < 0 || localZ < 0) return -1;
+
+        final int sectionX = localX >> 4;
+        final int sectionY = localY >> 4;
+        final int sectionZ = localZ >> 4;
+        if (sectionX >= sectionsX || sectionY >= sectionsY || sectionZ >= sectionsZ) return -1;
+
+        final int section = (sectionY * sectionsZ + sectionZ) * sectionsX + sectionX;
+        return section * WORDS_PER_SECTION * Long.SIZE
+                + ((localY & 15) << 8 | (localZ & 15) << 4 | (localX & 15));
+    }
+
+    /**
+     * Mutable raycast result, reused by callers to keep raycasts allocation-free
+     */
+    @Getter
+    public static final class Hit {
+        private int blockX;
+        private int blockY;
+        private int blockZ;
+        private int normalX;
+        private int normalY;
+        private int normalZ;
+        private double distance;
+
+        private void set(final int blockX, final int blockY, final int blockZ,
+                         final int normalX, final int normalY, final int normalZ, final double distance) {
+            this.blockX = blockX;
+            this.blockY = blockY;
+            this.blockZ = blockZ;
+            this.normalX = normalX;
+            this.normalY = normalY;
+            this.normalZ = normalZ;
+            this.distance = distance;
+        }
+    }
+}
@@ -2,9 +2,21 @@ package me.FrogTerra.paintball.command;
 
 import me.FrogTerra.paintball.Paintball;
 import me.FrogTerra.paintball.arena.Arena;
+import me.FrogTerra.paintball.arena.ArenaImporter;
+import me.FrogTerra.paintball.game.GameCommand;
+import me.FrogTerra.paintball.game.GameInstance;
+import me.FrogTerra.paintball.game.GameSnapshot;
+import me.FrogTerra.paintball.game.GameState;
+import me.FrogTerra.paintball.game.MatchTimings;
 import me.FrogTerra.paintball.game.Gamemode;
+import me.FrogTerra.paintball.game.PaintRenderer;
+import me.FrogTerra.paintball.game.ProjectileSimulator;
+import me.FrogTerra.paintball.game.ShotEngine;
 import me.FrogTerra.paintball.gui.ArenaManagementGUI;
 import me.FrogTerra.paintball.utility.MessageUtils;
+import me.FrogTerra.paintball.utility.TeleportPipeline;
+import me.FrogTerra.paintball.utility.TimingWheel;
+import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -14,6 +26,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -24,6 +37,14 @@ import java.util.stream.Collectors;
  */
 public class ArenaCommand implements CommandExecutor, TabCompleter {
 
+    private final Paintball plugin;
+    // Only read and written on the main thread, the import's completion hops back to it before clearing this
+    private boolean importRunning = false;
+
+    public ArenaCommand(final Paintball plugin) {
+        this.plugin = plugin;
+    }
+
     @Override
     public boolean onCommand(@NotNull final CommandSender sender, @NotNull final Command command, @NotNull final String label, @NotNull final String[] args) {
         if (!(sender instanceof final Player player)) {
@@ -79,6 +100,30 @@ public class ArenaCommand implements CommandExecutor, TabCompleter {
                 this.showArenaInfo(player, args[1]);
             }
             case "reload" -> this.reloadArenas(player);
+            case "status" -> this.showStatus(player);
+            case "end" -> {
+                if (args.length < 2) {
+                    player.sendMessage(MessageUtils.parseMessage("<red>Usage: /arena end <game-id>"));
+                    return true;
+                }
+                this.endGame(player, args[1]);
+            }
+            case "combatlog" -> {
+                if (args.length < 2 || !(args[1].equalsIgnoreCase("on") || args[1].equalsIgnoreCase("off"))) {
+                    player.sendMessage(MessageUtils.parseMessage("<red>Usage: /arena combatlog <on|off>"));
+                    return true;
+                }
+                this.plugin.getGameManager().setCombatLogDump(args[1].equalsIgnoreCase("on"));
+                player.sendMessage(MessageUtils.parseMessage("<green>Combat logs will " + (args[1].equalsIgnoreCase("on") ? "" : "no longer ")
+                        + "be written when matches end."));
+            }
+            case "import" -> {
+                if (args.length < 2) {
+                    player.sendMessage(MessageUtils.parseMessage("<red>Usage: /arena import <folder> [compile]"));
+                    return true;
+                }
+                this.importArenas(player, args[1], args.length > 2 && args[2].equalsIgnoreCase("compile"));
+            }
             default -> this.sendHelpMessage(player);
         }
 
@@ -215,24 +260,181 @@ public class ArenaCommand implements CommandExecutor, TabCompleter {
                     .collect(Collectors.joining(", ")) : "None")));
         
         player.sendMessage(MessageUtils.parseMessage("<yellow>Spawn Points:"));
-        player.sendMessage(MessageUtils.parseMessage("  <red>Red Team: <white>" + arena.getRedSpawns().size()));
-        player.sendMessage(MessageUtils.parseMessage("  <blue>Blue Team: <white>" + arena.getBlueSpawns().size()));
-        player.sendMessage(MessageUtils.parseMessage("  <white>Free For All: <white>" + arena.getFreeForAllSpawns().size()));
+        player.sendMessage(MessageUtils.parseMessage("  <red>Red Team: <white>" + arena.getSpawnCount(Arena.SpawnType.RED_SPAWN)));
+        player.sendMessage(MessageUtils.parseMessage("  <blue>Blue Team: <white>" + arena.getSpawnCount(Arena.SpawnType.BLUE_SPAWN)));
+        player.sendMessage(MessageUtils.parseMessage("  <white>Free For All: <white>" + arena.getSpawnCount(Arena.SpawnType.FREE_FOR_ALL_SPAWN)));
         
         if (arena.getTotalFlagSpawns() > 0) {
             player.sendMessage(MessageUtils.parseMessage("<yellow>Flag Spawns:"));
-            player.sendMessage(MessageUtils.parseMessage("  <red>Red Flags: <white>" + arena.getRedFlagSpawns().size()));
-            player.sendMessage(MessageUtils.parseMessage("  <blue>Blue Flags: <white>" + arena.getBlueFlagSpawns().size()));
+            player.sendMessage(MessageUtils.parseMessage("  <red>Red Flags: <white>" + arena.getSpawnCount(Arena.SpawnType.RED_FLAG_SPAWN)));
+            player.sendMessage(MessageUtils.parseMessage("  <blue>Blue Flags: <white>" + arena.getSpawnCount(Arena.SpawnType.BLUE_FLAG_SPAWN)));
         }
         
         player.sendMessage(MessageUtils.parseMessage("<yellow>Valid: " + (arena.isValid() ? "<green>Yes" : "<red>No")));
     }
 
+    private void showStatus(final Player player) {
+        final TimingWheel timingWheel = this.plugin.getTimingWheel();
+
+        player.sendMessage(MessageUtils.parseMessage("<green><bold>Paintball Status:"));
+        player.sendMessage(MessageUtils.parseMessage("<yellow>Running games: <white>" + this.plugin.getGameManager().getGames().size()));
+        for (final GameInstance game : this.plugin.getGameManager().getGames()) {
+            final GameSnapshot snapshot = game.getSnapshot();
+            player.sendMessage(MessageUtils.parseMessage("  <gray>#" + snapshot.id() + " <white>" + snapshot.gamemode().getDisplayName() +
+                    " <gray>on <white>" + snapshot.arenaName() + " <gray>(slot " + snapshot.slot() + ", " +
+                    snapshot.aliveCount() + "/" + snapshot.playerTeams().size() + " alive, " + snapshot.gameState() +
+                    (snapshot.timeRemaining() >= 0 ? ", " + snapshot.timeRemaining() + "s left" : "") + ")"));
+
+            final ShotEngine shotEngine = game.getShotEngine();
+            if (shotEngine == null) continue;
+
+            final ProjectileSimulator projectiles = shotEngine.getProjectileSimulator();
+            player.sendMessage(MessageUtils.parseMessage("    <gray>Paintballs: <white>" + projectiles.getCount() + " <gray>in flight, <white>" +
+                    projectiles.getLaunchedTotal() + " <gray>launched, last tick <white>" +
+                    String.format("%.2f", projectiles.getLastTickNanos() / 1_000_000.0) + "ms"));
+
+            final PaintRenderer paint = shotEngine.getPaintRenderer();
+            player.sendMessage(MessageUtils.parseMessage("    <gray>Paint: <white>" + paint.getPaintedBlocks() + " <gray>blocks, <white>" +
+                    paint.getPacketsSent() + " <gray>packets sent, <white>" + paint.getEvictedTotal() + " <gray>evicted"));
+        }
+        player.sendMessage(MessageUtils.parseMessage("<yellow>Timers: <white>" + timingWheel.getLiveTimers() + " live <gray>(peak " +
+                timingWheel.getPeakLiveTimers() + ", " + timingWheel.getScheduledTotal() + " scheduled, " +
+                timingWheel.getFiredTotal() + " fired)"));
+
+        final TeleportPipeline teleportPipeline = this.plugin.getTeleportPipeline();
+        player.sendMessage(MessageUtils.parseMessage("<yellow>Teleports: <white>" + teleportPipeline.getQueued() + " queued <gray>(" +
+                teleportPipeline.getTeleportedTotal() + " done, " + teleportPipeline.getFailedTotal() + " failed, " +
+                teleportPipeline.getTimedOutBatches() + " batches timed out)"));
+
+        final MatchTimings matchTimings = this.plugin.getGameManager().getMatchTimings();
+        if (matchTimings.getMatchesRecorded() > 0) {
+            player.sendMessage(MessageUtils.parseMessage("<yellow>Phase times <gray>(avg / max over " + matchTimings.getMatchesRecorded() + " matches)"));
+            for (final GameState phase : MatchTimings.getPhases()) {
+                if (matchTimings.getAverageMillis(phase) < 0) continue;
+                player.sendMessage(MessageUtils.parseMessage("  <gray>" + phase + ": <white>" + matchTimings.getAverageMillis(phase) +
+                        "ms <gray>/ <white>" + matchTimings.getMaxMillis(phase) + "ms"));
+            }
+        }
+    }
+
+    private void endGame(final Player player, final String gameId) {
+        final GameInstance game;
+        try {
+            game = this.plugin.getGameManager().getGameById(Integer.parseInt(gameId));
+        } catch (final NumberFormatException exception) {
+            player.sendMessage(MessageUtils.parseMessage("<red>Invalid game id: " + gameId));
+            return;
+        }
+
+        if (game == null) {
+            player.sendMessage(MessageUtils.parseMessage("<red>No running game with id: " + gameId));
+            return;
+        }
+
+        // Applied on the next mailbox drain like any other command
+        game.post(new GameCommand.End());
+        player.sendMessage(MessageUtils.parseMessage("<yellow>Ending game #" + game.getId()));
+    }
+
     private void reloadArenas(final Player player) {
         Paintball.getPlugin().getArenaManager().saveArenas();
         player.sendMessage(MessageUtils.parseMessage("<green>Arena configuration reloaded!"));
     }
 
+    private void importArenas(final Player player, final String folderName, final boolean compile) {
+        if (this.importRunning) {
+            player.sendMessage(MessageUtils.parseMessage("<red>An import is already running!"));
+            return;
+        }
+
+        // Folders are resolved inside the plugin data folder and may not leave it
+        final File folder;
+        try {
+            final File dataFolder = this.plugin.getDataFolder().getCanonicalFile();
+            folder = new File(dataFolder, folderName).getCanonicalFile();
+            if (!folder.toPath().startsWith(dataFolder.toPath())) {
+                player.sendMessage(MessageUtils.parseMessage("<red>The folder must be inside the plugin folder: " + folderName));
+                return;
+            }
+        } catch (final IOException exception) {
+            player.sendMessage(MessageUtils.parseMessage("<red>Invalid folder: " + folderName));
+            return;
+        }
+        if (!folder.isDirectory()) {
+            player.sendMessage(MessageUtils.parseMessage("<red>Folder not found: " + folderName));
+            return;
+        }
+
+        this.importRunning = true;
+        final long start = System.nanoTime();
+        player.sendMessage(MessageUtils.parseMessage("<yellow>Importing schematics from " + folderName + (compile ? " and compiling..." : "...")));
+
+        this.plugin.getArenaManager().getImporter().importFolder(folder, compile).whenComplete((results, throwable) ->
+            Bukkit.getScheduler().runTask(this.plugin, () -> {
+                this.importRunning = false;
+
+                if (throwable != null) {
+                    this.plugin.logError("Arena import failed", throwable);
+                    player.sendMessage(MessageUtils.parseMessage("<red>Import failed: " + throwable.getMessage()));
+                    return;
+                }
+
+                if (results.isEmpty()) {
+                    player.sendMessage(MessageUtils.parseMessage("<yellow>No schematics found in " + folderName));
+                    return;
+                }
+
+                this.registerImportedArenas(player, results, (System.nanoTime() - start) / 1_000_000L);
+            }));
+    }
+
+    private void registerImportedArenas(final Player player, final List<ArenaImporter.Result> results, final long totalMillis) {
+        int registered = 0;
+        long sourceBytes = 0;
+        long compiledBytes = 0;
+
+        player.sendMessage(MessageUtils.parseMessage("<green><bold>Import Results:"));
+        player.sendMessage(MessageUtils.parseMessage("<gray>Name | Decode | Compile | Size | Bounds | Spawns"));
+
+        for (final ArenaImporter.Result result : results) {
+            sourceBytes += result.sourceBytes();
+            compiledBytes += result.compiledBytes();
+
+            if (!result.isSuccess()) {
+                player.sendMessage(MessageUtils.parseMessage("<red>✗ " + result.name() + " <gray>- " + result.error()));
+                continue;
+            }
+
+            // Imported arenas stay disabled until they have been checked in the editor
+            final Arena arena = new Arena(result.name(), result.source().getName());
+            for (final Arena.SpawnType spawnType : Arena.SpawnType.values()) {
+                for (int i = 0; i < result.spawns().count(spawnType); i++) {
+                    arena.addSpawn(spawnType, result.spawns().getX(spawnType, i), result.spawns().getY(spawnType, i),
+                            result.spawns().getZ(spawnType, i), result.spawns().getYaw(spawnType, i));
+                }
+            }
+
+            final boolean added = this.plugin.getArenaManager().addArena(arena);
+            if (added) registered++;
+
+            final String size = (result.sourceBytes() / 1024) + " KiB" +
+                    (result.compiledBytes() > 0 ? " -> " + (result.compiledBytes() / 1024) + " KiB" : "");
+            player.sendMessage(MessageUtils.parseMessage((added ? "<green>✓ " : "<yellow>~ ") + result.name() +
+                    " <gray>| <white>" + result.decodeMillis() + "ms <gray>| <white>" + result.compileMillis() + "ms" +
+                    " <gray>| <white>" + size +
+                    " <gray>| <white>" + result.width() + "x" + result.height() + "x" + result.length() +
+                    " <gray>| <white>" + arena.getTotalSpawns() + (added ? "" : " <yellow>(already exists)")));
+        }
+
+        if (registered > 0) {
+            this.plugin.getArenaManager().saveArenas();
+        }
+
+        player.sendMessage(MessageUtils.parseMessage("<green>Registered " + registered + "/" + results.size() + " arenas in " +
+                totalMillis + "ms <gray>(" + (sourceBytes / 1024) + " KiB read" +
+                (compiledBytes > 0 ? ", " + (compiledBytes / 1024) + " KiB compiled" : "") + ")"));
+    }
+
     private void sendHelpMessage(final Player player) {
         player.sendMessage(MessageUtils.parseMessage("<green><bold>Arena Commands:"));
         player.sendMessage(MessageUtils.parseMessage("<yellow>/arena create <name> <schematic> <gray>- Create a new arena"));
@@ -242,6 +444,10 @@ public class ArenaCommand implements CommandExecutor, TabCompleter {
         player.sendMessage(MessageUtils.parseMessage("<yellow>/arena list <gray>- List all arenas"));
         player.sendMessage(MessageUtils.parseMessage("<yellow>/arena info <name> <gray>- Show arena information"));
         player.sendMessage(MessageUtils.parseMessage("<yellow>/arena reload <gray>- Reload arena configuration"));
+        player.sendMessage(MessageUtils.parseMessage("<yellow>/arena import <folder> [compile] <gray>- Import a folder of schematics"));
+        player.sendMessage(MessageUtils.parseMessage("<yellow>/arena status <gray>- Show running games and timers"));
+        player.sendMessage(MessageUtils.parseMessage("<yellow>/arena end <game-id> <gray>- End a running game"));
+        player.sendMessage(MessageUtils.parseMessage("<yellow>/arena combatlog <on|off> <gray>- Write combat logs when matches end"));
     }
 
     private List<String> getAvailableSchematics() {
@@ -265,7 +471,7 @@ public class ArenaCommand implements CommandExecutor, TabCompleter {
     @Override
     public @Nullable List<String> onTabComplete(@NotNull final CommandSender sender, @NotNull final Command command, @NotNull final String alias, @NotNull final String[] args) {
         if (args.length == 1) {
-            return Arrays.asList("create", "edit", "force", "random", "list", "info", "reload")
+            return Arrays.asList("create", "edit", "force", "random", "list", "info", "reload", "import", "status", "end", "combatlog")
                     .stream()
                     .filter(cmd -> cmd.toLowerCase().startsWith(args[0].toLowerCase()))
                     .collect(Collectors.toList());
@@ -308,6 +514,24 @@ public class ArenaCommand implements CommandExecutor, TabCompleter {
                             .collect(Collectors.toList());
                 }
             }
+            case "end" -> {
+                if (args.length == 2) {
+                    return this.plugin.getGameManager().getGames().stream()
+                            .map(game -> String.valueOf(game.getId()))
+                            .filter(id -> id.startsWith(args[1]))
+                            .collect(Collectors.toList());
+                }
+            }
+            case "combatlog" -> {
+                if (args.length == 2) {
+                    return List.of("on", "off").stream().filter(option -> option.startsWith(args[1].toLowerCase())).collect(Collectors.toList());
+                }
+            }
+            case "import" -> {
+                if (args.length == 3) {
+                    return "compile".startsWith(args[2].toLowerCase()) ? List.of("compile") : new ArrayList<>();
+                }
+            }
         }
 
         return new ArrayList<>();
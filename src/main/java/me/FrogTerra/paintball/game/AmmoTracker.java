@@ -0,0 +1,127 @@
+package me.FrogTerra.paintball.game;
+
+import me.FrogTerra.paintball.Paintball;
+import me.FrogTerra.paintball.utility.MessageUtils;
+import me.FrogTerra.paintball.utility.TimingWheel;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+
+/**
+ * Server-authoritative ammo of one match.
+ * Every participant has a magazine and a reserve held in int arrays indexed by roster id. An empty
+ * magazine or an explicit reload refills it from the reserve once a timer on the timing wheel fires.
+ * The count is shown on the action bar, sent only when it changes, so no ammo item is ever touched.
+ * Must only be used from the main thread.
+ */
+final class AmmoTracker {
+
+    static final int MAGAZINE_SIZE = 10;
+
+    private final Paintball plugin;
+    private final MatchRoster roster;
+
+    private final int[] magazines;
+    private final int[] reserves;
+    private final int[] reloadTicks;
+    private final long[] reloadTimers;
+
+    AmmoTracker(final Paintball plugin, final MatchRoster roster) {
+        this.plugin = plugin;
+        this.roster = roster;
+        this.magazines = new int[roster.size()];
+        this.reserves = new int[roster.size()];
+        this.reloadTicks = new int[roster.size()];
+        this.reloadTimers = new long[roster.size()];
+        Arrays.fill(this.reloadTimers, TimingWheel.NO_TIMER);
+    }
+
+    /**
+     * Give a participant a full magazine and the rest of their paintballs in reserve, dropping any reload in progress
+     */
+    void fill(final int playerId, final int paintballs, final double reloadSeconds) {
+        this.cancelReload(playerId);
+        this.magazines[playerId] = Math.min(MAGAZINE_SIZE, paintballs);
+        this.reserves[playerId] = paintballs - this.magazines[playerId];
+        this.reloadTicks[playerId] = (int) Math.max(1L, Math.round(reloadSeconds * 20.0));
+        this.display(playerId);
+    }
+
+    /**
+     * Take one paintball from a participant's magazine, reloading once it runs dry
+     *
+     * @return false if the magazine is empty or reloading
+     */
+    boolean consume(final int playerId) {
+        if (this.isReloading(playerId) || this.magazines[playerId] == 0) return false;
+
+        if (--this.magazines[playerId] == 0 && this.reserves[playerId] > 0) {
+            this.reload(playerId);
+            return true;
+        }
+        this.display(playerId);
+        return true;
+    }
+
+    /**
+     * Start refilling a participant's magazine from their reserve
+     */
+    void reload(final int playerId) {
+        if (this.isReloading(playerId) || this.reserves[playerId] == 0 || this.magazines[playerId] == MAGAZINE_SIZE) return;
+
+        this.reloadTimers[playerId] = this.plugin.getTimingWheel().schedule(this.reloadTicks[playerId], () -> this.finishReload(playerId));
+        this.display(playerId);
+    }
+
+    boolean isReloading(final int playerId) {
+        return this.reloadTimers[playerId] != TimingWheel.NO_TIMER;
+    }
+
+    int getMagazine(final int playerId) {
+        return this.magazines[playerId];
+    }
+
+    int getReserve(final int playerId) {
+        return this.reserves[playerId];
+    }
+
+    /**
+     * Cancel every reload in progress
+     */
+    void clear() {
+        for (int playerId = 0; playerId < this.reloadTimers.length; playerId++) {
+            this.cancelReload(playerId);
+        }
+    }
+
+    private void finishReload(final int playerId) {
+        this.reloadTimers[playerId] = TimingWheel.NO_TIMER;
+
+        final int loaded = Math.min(MAGAZINE_SIZE - this.magazines[playerId], this.reserves[playerId]);
+        this.magazines[playerId] += loaded;
+        this.reserves[playerId] -= loaded;
+        this.display(playerId);
+    }
+
+    private void cancelReload(final int playerId) {
+        this.plugin.getTimingWheel().cancel(this.reloadTimers[playerId]);
+        this.reloadTimers[playerId] = TimingWheel.NO_TIMER;
+    }
+
+    /**
+     * Show a participant their ammo on the action bar
+     */
+    private void display(final int playerId) {
+        final Player player = this.roster.getPlayer(playerId);
+        if (player == null) return;
+
+        if (this.isReloading(playerId)) {
+            player.sendActionBar(MessageUtils.parseMessage("<yellow>Reloading... <gray>(" + this.reserves[playerId] + " in reserve)"));
+        } else if (this.magazines[playerId] == 0) {
+            player.sendActionBar(MessageUtils.parseMessage("<red>Out of paintballs"));
+        } else {
+            player.sendActionBar(MessageUtils.parseMessage("<white>" + this.magazines[playerId] + "<gray>/" + MAGAZINE_SIZE
+                    + " <dark_gray>| <gray>" + this.reserves[playerId] + " in reserve"));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package me.FrogTerra.paintball.game;
+
+import java.util.Arrays;
+
+/**
+ * Flight state of entity-free ballistic bodies, paintballs and grenades alike.
+ * Bodies live in parallel primitive arrays packed into [0, count); removing one moves the last body
+ * into its place, so a pass over the store stays dense and never allocates. Each body carries a
+ * timer that its engine counts down, a lifetime for paintballs and a fuse for grenades.
+ * Must only be used from the main thread.
+ */
+final class BallisticStore {
+
+    private double[] positionX;
+    private double[] positionY;
+    private double[] positionZ;
+    private double[] velocityX;
+    private double[] velocityY;
+    private double[] velocityZ;
+    private int[] owners;
+    private int[] weapons;
+    private int[] damages;
+    private float[] travelled;
+    private int[] timers;
+    private int count = 0;
+
+    BallisticStore(final int capacity) {
+        this.positionX = new double[capacity];
+        this.positionY = new double[capacity];
+        this.positionZ = new double[capacity];
+        this.velocityX = new double[capacity];
+        this.velocityY = new double[capacity];
+        this.velocityZ = new double[capacity];
+        this.owners = new int[capacity];
+        this.weapons = new int[capacity];
+        this.damages = new int[capacity];
+        this.travelled = new float[capacity];
+        this.timers = new int[capacity];
+    }
+
+    /**
+     * Add a body with a velocity in blocks per tick
+     */
+    void add(final int owner, final int weapon, final int damage, final double x, final double y, final double z,
+             final double velocityX, final double velocityY, final double velocityZ, final int timer) {
+        if (this.count == this.positionX.length) {
+            this.grow();
+        }
+
+        final int index = this.count++;
+        this.positionX[index] = x;
+        this.positionY[index] = y;
+        this.positionZ[index] = z;
+        this.velocityX[index] = velocityX;
+        this.velocityY[index] = velocityY;
+        this.velocityZ[index] = velocityZ;
+        this.owners[index] = owner;
+        this.weapons[index] = weapon;
+        this.damages[index] = damage;
+        this.travelled[index] = 0.0f;
+        this.timers[index] = timer;
+    }
+
+    /**
+     * Store the result of one integration step
+     */
+    void move(final int index, final double x, final double y, final double z,
+              final double velocityX, final double velocityY, final double velocityZ, final double step) {
+        this.positionX[index] = x;
+        this.positionY[index] = y;
+        this.positionZ[index] = z;
+        this.velocityX[index] = velocityX;
+        this.velocityY[index] = velocityY;
+        this.velocityZ[index] = velocityZ;
+        this.travelled[index] += (float) step;
+    }
+
+    /**
+     * Count a body's timer down by one tick
+     *
+     * @return true if the timer ran out
+     */
+    boolean expire(final int index) {
+        return --this.timers[index] <= 0;
+    }
+
+    /**
+     * Remove a body by moving the last one into its place
+     */
+    void remove(final int index) {
+        final int last = --this.count;
+        if (index == last) return;
+
+        this.positionX[index] = this.positionX[last];
+        this.positionY[index] = this.positionY[last];
+        this.positionZ[index] = this.positionZ[last];
+        this.velocityX[index] = this.velocityX[last];
+        this.velocityY[index] = this.velocityY[last];
+        this.velocityZ[index] = this.velocityZ[last];
+        this.owners[index] = this.owners[last];
+        this.weapons[index] = this.weapons[last];
+        this.damages[index] = this.damages[last];
+        this.travelled[index] = this.travelled[last];
+        this.timers[index] = this.timers[last];
+    }
+
+    /**
+     * Drop every body
+     */
+    void clear() {
+        this.count = 0;
+    }
+
+    int size() {
+        return this.count;
+    }
+
+    double getX(final int index) {
+        return this.positionX[index];
+    }
+
+    double getY(final int index) {
+        return this.positionY[index];
+    }
+
+    double getZ(final int index) {
+        return this.positionZ[index];
+    }
+
+    double getVelocityX(final int index) {
+        return this.velocityX[index];
+    }
+
+    double getVelocityY(final int index) {
+        return this.velocityY[index];
+    }
+
+    double getVelocityZ(final int index) {
+        return this.velocityZ[index];
+    }
+
+    int getOwner(final int index) {
+        return this.owners[index];
+    }
+
+    int getWeapon(final int index) {
+        return this.weapons[index];
+    }
+
+    int getDamage(final int index) {
+        return this.damages[index];
+    }
+
+    /**
+     * Get the distance a body has flown so far
+     */
+    float getTravelled(final int index) {
+        return this.travelled[index];
+    }
+
+    private void grow() {
+        final int capacity = this.positionX.length * 2;
+        this.positionX = Arrays.copyOf(this.positionX, capacity);
+        this.positionY = Arrays.copyOf(this.positionY, capacity);
+        this.positionZ = Arrays.copyOf(this.positionZ, capacity);
+        this.velocityX = Arrays.copyOf(this.velocityX, capacity);
+        this.velocityY = Arrays.copyOf(this.velocityY, capacity);
+        this.velocityZ = Arrays.copyOf(this.velocityZ, capacity);
+        this.owners = Arrays.copyOf(this.owners, capacity);
+        this.weapons = Arrays.copyOf(this.weapons, capacity);
+        this.damages = Arrays.copyOf(this.damages, capacity);
+        this.travelled = Arrays.copyOf(this.travelled, capacity);
+        this.timers = Arrays.copyOf(this.timers, capacity);
+    }
+}
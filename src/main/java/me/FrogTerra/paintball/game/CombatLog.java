@@ -0,0 +1,158 @@
+package me.FrogTerra.paintball.game;
+
+import java.util.Arrays;
+
+/**
+ * Every hit and kill of one match, in a ring of primitive records: tick, attacker, victim, weapon,
+ * distance and flags. Recording never allocates; once the ring is full the oldest events are overwritten.
+ * Kill credit and assists are derived from the hits on the victim within {@link #ASSIST_WINDOW_TICKS},
+ * and per-player summaries are kept as running totals so they survive the ring wrapping.
+ * Must only be used from the main thread.
+ */
+final class CombatLog {
+
+    static final int CAPACITY = 4096;
+    // Hits this recent before a kill earn an assist
+    static final long ASSIST_WINDOW_TICKS = 200L;
+
+    static final int FLAG_HIT = 1;
+    static final int FLAG_KILL = 1 << 1;
+    // The victim was rewound for lag compensation
+    static final int FLAG_REWOUND = 1 << 2;
+    static final int FLAG_PROJECTILE = 1 << 3;
+    static final int FLAG_GRENADE = 1 << 4;
+
+    private final long[] ticks = new long[CAPACITY];
+    private final int[] attackers = new int[CAPACITY];
+    private final int[] victims = new int[CAPACITY];
+    private final int[] weapons = new int[CAPACITY];
+    private final float[] distances = new float[CAPACITY];
+    private final byte[] flags = new byte[CAPACITY];
+    private int head = 0;
+    private long recorded = 0L;
+
+    // Running per-player totals
+    private final int[] hitsDealt;
+    private final int[] hitsTaken;
+    private final float[] longestHits;
+
+    // Marks attackers already counted for the current kill
+    private final int[] assistMarks;
+    private int assistMark = 0;
+
+    CombatLog(final int players) {
+        this.hitsDealt = new int[players];
+        this.hitsTaken = new int[players];
+        this.longestHits = new float[players];
+        this.assistMarks = new int[players];
+    }
+
+    /**
+     * Record a hit or kill, the attacker and weapon may be -1
+     */
+    void record(final long tick, final int attacker, final int victim, final int weapon, final double distance, final int flags) {
+        final int index = this.head;
+        this.ticks[index] = tick;
+        this.attackers[index] = attacker;
+        this.victims[index] = victim;
+        this.weapons[index] = weapon;
+        this.distances[index] = (float) distance;
+        this.flags[index] = (byte) flags;
+        this.head = (index + 1) % CAPACITY;
+        this.recorded++;
+
+        if ((flags & FLAG_HIT) != 0 && attacker >= 0) {
+            this.hitsDealt[attacker]++;
+            this.hitsTaken[victim]++;
+            this.longestHits[attacker] = Math.max(this.longestHits[attacker], (float) distance);
+        }
+    }
+
+    /**
+     * Find the latest hit on a victim within the assist window, by a given attacker or by anyone if -1
+     *
+     * @return the event index, or -1 if there is none
+     */
+    int findLastHit(final int victim, final int attacker, final long now) {
+        final int events = (int) Math.min(this.recorded, CAPACITY);
+        for (int i = 1; i <= events; i++) {
+            final int index = Math.floorMod(this.head - i, CAPACITY);
+            if (now - this.ticks[index] > ASSIST_WINDOW_TICKS) break;
+
+            if (this.victims[index] == victim && (this.flags[index] & FLAG_HIT) != 0 && this.attackers[index] >= 0
+                    && (attacker < 0 || this.attackers[index] == attacker)) return index;
+        }
+        return -1;
+    }
+
+    /**
+     * Collect everyone but the killer who hit the victim within the assist window, each once
+     *
+     * @return the number of ids written to the buffer
+     */
+    int findAssists(final int victim, final int killer, final long now, final int[] out) {
+        if (++this.assistMark == 0) {
+            Arrays.fill(this.assistMarks, 0);
+            this.assistMark = 1;
+        }
+
+        int count = 0;
+        final int events = (int) Math.min(this.recorded, CAPACITY);
+        for (int i = 1; i <= events && count < out.length; i++) {
+            final int index = Math.floorMod(this.head - i, CAPACITY);
+            if (now - this.ticks[index] > ASSIST_WINDOW_TICKS) break;
+
+            final int attacker = this.attackers[index];
+            if (this.victims[index] != victim || (this.flags[index] & FLAG_HIT) == 0 || attacker < 0
+                    || attacker == killer || attacker == victim || this.assistMarks[attacker] == this.assistMark) continue;
+
+            this.assistMarks[attacker] = this.assistMark;
+            out[count++] = attacker;
+        }
+        return count;
+    }
+
+    int getAttacker(final int index) {
+        return this.attackers[index];
+    }
+
+    int getWeapon(final int index) {
+        return this.weapons[index];
+    }
+
+    double getDistance(final int index) {
+        return this.distances[index];
+    }
+
+    int getHitsDealt(final int playerId) {
+        return this.hitsDealt[playerId];
+    }
+
+    int getHitsTaken(final int playerId) {
+        return this.hitsTaken[playerId];
+    }
+
+    double getLongestHit(final int playerId) {
+        return this.longestHits[playerId];
+    }
+
+    long getRecorded() {
+        return this.recorded;
+    }
+
+    /**
+     * Write the events still in the ring as CSV rows, oldest first
+     */
+    void appendCsv(final StringBuilder out, final MatchRoster roster) {
+        final int events = (int) Math.min(this.recorded, CAPACITY);
+        for (int i = events; i >= 1; i--) {
+            final int index = Math.floorMod(this.head - i, CAPACITY);
+            out.append(this.ticks[index]).append(',')
+                    .append(this.attackers[index] >= 0 ? roster.getUuid(this.attackers[index]) : "").append(',')
+                    .append(roster.getUuid(this.victims[index])).append(',')
+                    .append(this.weapons[index]).append(',')
+                    .append(String.format("%.2f", this.distances[index])).append(',')
+                    .append(this.flags[index]).append('\n');
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package me.FrogTerra.paintball.game;
+
+/**
+ * Commands other threads post to a match instead of touching its state directly.
+ * They are applied on the main thread when the mailbox is drained.
+ */
+public sealed interface GameCommand {
+
+    /**
+     * The match's arena finished loading into its slot
+     */
+    record ArenaReady() implements GameCommand {
+    }
+
+    /**
+     * The match's arena could not be loaded
+     */
+    record ArenaFailed(String reason) implements GameCommand {
+    }
+
+    /**
+     * End the match early
+     */
+    record End() implements GameCommand {
+    }
+}
@@ -0,0 +1,990 @@
+package me.FrogTerra.paintball.game;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import lombok.Getter;
+import me.FrogTerra.paintball.Paintball;
+import me.FrogTerra.paintball.arena.Arena;
+import me.FrogTerra.paintball.arena.ArenaEditor;
+import me.FrogTerra.paintball.arena.ArenaManager;
+import me.FrogTerra.paintball.arena.LoadedArena;
+import me.FrogTerra.paintball.item.WeaponDefinition;
+import me.FrogTerra.paintball.player.PlayerProfile;
+import me.FrogTerra.paintball.utility.MessageUtils;
+import me.FrogTerra.paintball.utility.TeleportPipeline;
+import me.FrogTerra.paintball.utility.TimingWheel;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A single match with its own arena slot, state, timers and participants.
+ * All state is owned by the main thread; other threads post {@link GameCommand}s
+ * and read the published {@link GameSnapshot}.
+ */
+public final class GameInstance {
+
+    // Ticks to wait for players to arrive before starting or closing without them
+    private static final long ARRIVAL_TIMEOUT = 200L;
+
+    private final Paintball plugin;
+    private final GameManager gameManager;
+
+    @Getter private final int id;
+    @Getter private final Gamemode gamemode;
+    @Getter private final Arena arena;
+    @Getter private int slot = -1;
+    // Paste of the arena into the slot, complete once nothing more will be written there
+    private CompletableFuture<Boolean> arenaLoad = CompletableFuture.completedFuture(true);
+    @Getter private final MatchStateMachine stateMachine;
+
+    @Getter private MatchRoster roster = new MatchRoster(List.of());
+
+    // Decided as soon as a win condition is met, null and -1 until then
+    private GameTeam winningTeam;
+    private int winningPlayer = -1;
+
+    private Map<ArenaEditor.SpawnPointType, List<Location>> spawnPoints = Map.of();
+    @Getter private SpatialGrid spatialGrid;
+    private PositionHistory positionHistory;
+    private SpawnSelector spawnSelector;
+    private RespawnQueue respawnQueue;
+    private AmmoTracker ammoTracker;
+    private CombatLog combatLog = new CombatLog(0);
+    private int[] assisters = new int[0];
+    @Getter private ShotEngine shotEngine;
+    private long gameTimer = TimingWheel.NO_TIMER;
+    private long trackingTask = TimingWheel.NO_TIMER;
+    private final Location scratch = new Location(null, 0, 0, 0);
+    private volatile GameSnapshot snapshot;
+    // Teams never change once assigned, so snapshots share one copy
+    private Map<UUID, GameTeam> snapshotTeams;
+    private int gameTimeRemaining;
+    // Wall clock time the match clock runs out, 0 while it is not running
+    private long gameEndTime;
+    private long gameStartTime;
+
+    GameInstance(final Paintball plugin, final GameManager gameManager, final int id, final Gamemode gamemode, final Arena arena) {
+        this.plugin = plugin;
+        this.gameManager = gameManager;
+        this.id = id;
+        this.gamemode = gamemode;
+        this.arena = arena;
+
+        this.stateMachine = new MatchStateMachine(plugin, "game #" + id);
+        this.stateMachine.onTransition((from, to) -> this.publishSnapshot());
+        this.stateMachine.onEnter(GameState.DISABLED, () -> gameManager.getMatchTimings().record(this));
+        this.publishSnapshot();
+    }
+
+    /**
+     * Get the current state of the match, safe from any thread
+     */
+    public GameState getGameState() {
+        return this.stateMachine.get();
+    }
+
+    /**
+     * Start the match with the given players, claiming the preloaded arena or loading one into a free slot.
+     * Must be called on the main thread.
+     */
+    boolean start(final List<UUID> players) {
+        // Teams are assigned and the arena loaded while staging
+        if (!this.stateMachine.transition(GameState.WAITING, GameState.STAGING)) return false;
+        this.gameStartTime = System.currentTimeMillis();
+
+        // Assign dense ids, all per-player stats live in the roster's arrays
+        this.roster = new MatchRoster(players);
+        this.respawnQueue = new RespawnQueue(this.plugin, this, this.roster.size());
+        this.ammoTracker = new AmmoTracker(this.plugin, this.roster);
+        this.combatLog = new CombatLog(this.roster.size());
+        this.assisters = new int[this.roster.size()];
+
+        // Setup teams and equipment
+        this.setupTeamsAndEquipment();
+        this.snapshotTeams = null;
+        this.publishSnapshot();
+
+        final ArenaManager arenaManager = this.plugin.getArenaManager();
+
+        // Check if arena is already preloaded
+        final int preloadedSlot = arenaManager.claimPreloadedArena(this.arena.getName());
+        if (preloadedSlot >= 0) {
+            this.slot = preloadedSlot;
+            this.plugin.logInfo("Using preloaded arena: " + this.arena.getName() + " in slot " + this.slot);
+            this.begin();
+            return true;
+        }
+
+        // Load arena into a free slot if not preloaded, the result comes back through the mailbox
+        this.slot = arenaManager.acquireSlot();
+        this.plugin.logInfo("Loading arena for game: " + this.arena.getName() + " in slot " + this.slot);
+        this.arenaLoad = arenaManager.loadArena(this.arena.getName(), this.slot);
+        this.arenaLoad.thenAccept(success ->
+                this.post(success ? new GameCommand.ArenaReady() : new GameCommand.ArenaFailed("Arena could not be loaded")));
+
+        return true;
+    }
+
+    /**
+     * Queue a command for this match, safe from any thread
+     */
+    public void post(final GameCommand command) {
+        this.gameManager.post(this, command);
+    }
+
+    /**
+     * Apply a command from the mailbox on the main thread
+     */
+    void handle(final GameCommand command) {
+        try {
+            switch (command) {
+                case GameCommand.ArenaReady ready -> {
+                    if (this.stateMachine.is(GameState.STAGING)) {
+                        this.begin();
+                    }
+                }
+                case GameCommand.ArenaFailed failed -> {
+                    this.plugin.logError("Failed to load arena for game: " + this.arena.getName() + " (" + failed.reason() + ")");
+                    // Game failed to load - do not save stats
+                    this.endGame();
+                }
+                case GameCommand.End end -> this.endGame();
+            }
+        } catch (final Exception exception) {
+            this.plugin.logError("Failed to apply " + command + " to game #" + this.id, exception);
+        }
+    }
+
+    /**
+     * Get the number of participants
+     */
+    public int getPlayerCount() {
+        return this.roster.size();
+    }
+
+    /**
+     * Get a participant's stats, or null if they are not in this match
+     */
+    public GameStats getStats(final UUID uuid) {
+        final int playerId = this.roster.indexOf(uuid);
+        return playerId >= 0 ? this.roster.getStats(playerId) : null;
+    }
+
+    /**
+     * Record a kill, taking a life from the victim and ending the match if it decided the winner.
+     * The killer may be null for environmental deaths, the last player to hit the victim recently gets the
+     * credit then. Everyone else who hit the victim recently gets an assist.
+     */
+    public void recordKill(final UUID killer, final UUID victim) {
+        if (!this.stateMachine.is(GameState.ACTIVE)) return;
+
+        final int victimId = this.roster.indexOf(victim);
+        if (victimId < 0) return;
+
+        final long now = this.plugin.getTimingWheel().getCurrentTick();
+        int killerId = killer != null ? this.roster.indexOf(killer) : -1;
+        final int lastHit = this.combatLog.findLastHit(victimId, killerId, now);
+        if (killerId < 0 && lastHit >= 0) {
+            killerId = this.combatLog.getAttacker(lastHit);
+        }
+        if (killerId >= 0 && killerId != victimId) {
+            this.roster.addKill(killerId);
+        }
+        this.roster.addDeath(victimId);
+        this.roster.removeLife(victimId);
+
+        final int assists = this.combatLog.findAssists(victimId, killerId, now, this.assisters);
+        for (int i = 0; i < assists; i++) {
+            this.roster.addAssist(this.assisters[i]);
+            final Player assister = this.roster.getPlayer(this.assisters[i]);
+            if (assister != null) {
+                assister.sendActionBar(MessageUtils.parseMessage("<gray>Assist on <white>" + this.getName(victimId)));
+            }
+        }
+        this.combatLog.record(now, killerId, victimId, lastHit >= 0 ? this.combatLog.getWeapon(lastHit) : -1,
+                lastHit >= 0 ? this.combatLog.getDistance(lastHit) : 0.0, CombatLog.FLAG_KILL);
+
+        final Player victimPlayer = this.roster.getPlayer(victimId);
+        if (victimPlayer != null && this.spawnSelector != null) {
+            final Location location = victimPlayer.getLocation();
+            this.spawnSelector.recordDeath(location.getX(), location.getZ(), this.plugin.getTimingWheel().getCurrentTick());
+        }
+
+        this.checkWinCondition(victimId);
+        this.publishSnapshot();
+    }
+
+    /**
+     * Handle a lethal hit on a participant: record the kill, then park the victim as a spectator
+     * until their respawn, or for the rest of the match once they are out of lives.
+     * The killer may be null for environmental deaths.
+     */
+    public void handleElimination(final Player victim, final Player killer) {
+        final int victimId = this.roster.indexOf(victim);
+        if (victimId < 0 || !this.stateMachine.is(GameState.ACTIVE) || this.respawnQueue.isQueued(victimId)) return;
+
+        this.recordKill(killer != null ? killer.getUniqueId() : null, victim.getUniqueId());
+
+        // Park the victim, spectators cost nothing to keep around
+        final AttributeInstance maxHealth = victim.getAttribute(Attribute.MAX_HEALTH);
+        victim.setHealth(maxHealth != null ? maxHealth.getValue() : 20.0);
+        victim.setFireTicks(0);
+        victim.setGameMode(org.bukkit.GameMode.SPECTATOR);
+        this.spatialGrid.remove(victimId);
+
+        // The kill may have ended the match
+        if (!this.stateMachine.is(GameState.ACTIVE)) return;
+
+        final String killedBy = killer != null && killer != victim ? " <gray>by <white>" + killer.getName() : "";
+        if (this.roster.isAlive(victimId)) {
+            final int respawnTime = this.gamemode.getRespawnTime();
+            this.respawnQueue.enqueue(victimId, respawnTime * 20L);
+            victim.sendMessage(MessageUtils.parseMessage("<red>You were eliminated" + killedBy + "<red>! <yellow>Respawning in <white>" + respawnTime + "s"));
+        } else {
+            victim.sendMessage(MessageUtils.parseMessage("<red>You were eliminated" + killedBy + "<red>! <gray>You are out of lives."));
+        }
+    }
+
+    /**
+     * Fire a participant's gun
+     */
+    public void fire(final Player player, final WeaponDefinition weapon) {
+        if (!this.stateMachine.is(GameState.ACTIVE)) return;
+
+        final int playerId = this.roster.indexOf(player);
+        if (playerId < 0 || !this.roster.isAlive(playerId) || this.respawnQueue.isQueued(playerId)) return;
+
+        this.shotEngine.fire(playerId, player, weapon);
+    }
+
+    /**
+     * Resend the paint of a chunk a participant just started tracking
+     */
+    public void resendPaint(final Player player, final int chunkX, final int chunkZ) {
+        if (this.shotEngine == null || !this.stateMachine.is(GameState.ACTIVE)) return;
+
+        this.shotEngine.getPaintRenderer().resendChunk(player, chunkX, chunkZ);
+    }
+
+    /**
+     * Start reloading a participant's magazine
+     */
+    public void reload(final Player player) {
+        if (!this.stateMachine.is(GameState.ACTIVE)) return;
+
+        final int playerId = this.roster.indexOf(player);
+        if (playerId < 0 || !this.roster.isAlive(playerId) || this.respawnQueue.isQueued(playerId)) return;
+
+        this.ammoTracker.reload(playerId);
+    }
+
+    /**
+     * Respawn a batch of players that are due, called by the respawn queue
+     */
+    void respawn(final int[] playerIds, final int count) {
+        if (!this.stateMachine.is(GameState.ACTIVE)) return;
+
+        for (int i = 0; i < count; i++) {
+            final int playerId = playerIds[i];
+            final Player player = this.roster.getPlayer(playerId);
+            if (player == null) continue;
+
+            final Location spawn = this.pickSpawn(playerId);
+            this.giveEquiptment(playerId, this.roster.getTeam(playerId));
+            player.setGameMode(org.bukkit.GameMode.ADVENTURE);
+            player.teleportAsync(spawn);
+        }
+    }
+
+    /**
+     * Record a flag capture, ending the match if the team reached the capture limit
+     */
+    public void recordFlagCapture(final UUID uuid) {
+        if (!this.stateMachine.is(GameState.ACTIVE)) return;
+
+        final int playerId = this.roster.indexOf(uuid);
+        if (playerId < 0) return;
+
+        this.roster.addFlagCapture(playerId);
+        this.checkWinCondition(playerId);
+        this.publishSnapshot();
+    }
+
+    /**
+     * Check the win condition affected by an event of a player, in constant time from the roster's aggregates
+     */
+    private void checkWinCondition(final int playerId) {
+        final MatchRoster roster = this.roster;
+        switch (this.gamemode) {
+            case TEAM_DEATHMATCH -> {
+                // Last team standing
+                if (roster.getTeamsAlive() <= 1) {
+                    this.winningTeam = roster.getAliveCount(GameTeam.RED) > 0 ? GameTeam.RED : GameTeam.BLUE;
+                }
+            }
+            case FREE_FOR_ALL -> {
+                // Last player standing
+                if (roster.getAliveCount(GameTeam.FREE) <= 1) {
+                    this.winningPlayer = this.findSurvivor();
+                }
+            }
+            case JUGGERNAUT -> {
+                if (roster.getAliveCount(GameTeam.JUGGERNAUT) == 0) {
+                    this.winningTeam = GameTeam.PLAYERS;
+                } else if (roster.getAliveCount(GameTeam.PLAYERS) == 0) {
+                    this.winningTeam = GameTeam.JUGGERNAUT;
+                }
+            }
+            case FLAG_RUSH -> {
+                final GameTeam team = roster.getTeam(playerId);
+                if (team != null && roster.getTeamCaptures(team) >= this.gamemode.getCaptureLimit()) {
+                    this.winningTeam = team;
+                }
+            }
+        }
+
+        if (this.winningTeam != null || this.winningPlayer >= 0) {
+            this.endGame();
+        }
+    }
+
+    /**
+     * Find the player with lives left once at most one remains
+     */
+    private int findSurvivor() {
+        for (int playerId = 0; playerId < this.roster.size(); playerId++) {
+            if (this.roster.isAlive(playerId)) return playerId;
+        }
+        return this.roster.getLeader();
+    }
+
+    /**
+     * Drop the cached player reference of a participant that left the server.
+     * During a match they are out for good, so their lives are zeroed and the win condition is checked at once.
+     */
+    public void handleQuit(final Player player) {
+        final int playerId = this.roster.indexOf(player);
+        if (playerId < 0) return;
+
+        this.roster.invalidatePlayer(playerId);
+        if (!this.stateMachine.is(GameState.ACTIVE) || !this.roster.isAlive(playerId)) return;
+
+        // Going through the roster keeps the team's alive count in step
+        this.roster.setLives(playerId, 0);
+        this.spatialGrid.remove(playerId);
+        this.respawnQueue.remove(playerId);
+
+        this.checkWinCondition(playerId);
+        this.publishSnapshot();
+    }
+
+    /**
+     * Get the latest published view of this match, safe from any thread
+     */
+    public GameSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Publish an immutable copy of the current state for other threads.
+     * Only called when the state changes: on transitions, kills and captures, and when the clock starts.
+     */
+    private void publishSnapshot() {
+        final MatchRoster roster = this.roster;
+        if (this.snapshotTeams == null) {
+            final Map<UUID, GameTeam> teams = new HashMap<>();
+            for (int playerId = 0; playerId < roster.size(); playerId++) {
+                teams.put(roster.getUuid(playerId), roster.getTeam(playerId));
+            }
+            this.snapshotTeams = Map.copyOf(teams);
+        }
+
+        final Map<UUID, Integer> lives = new HashMap<>();
+        final Map<UUID, Integer> kills = new HashMap<>();
+        for (int playerId = 0; playerId < roster.size(); playerId++) {
+            final UUID uuid = roster.getUuid(playerId);
+            lives.put(uuid, roster.getLives(playerId));
+            kills.put(uuid, roster.getKills(playerId));
+        }
+
+        this.snapshot = new GameSnapshot(this.id, this.gamemode, this.arena.getName(), this.slot, this.stateMachine.get(),
+                this.gameEndTime, this.snapshotTeams, lives, kills);
+    }
+
+    /**
+     * Move players into the loaded arena and start the clock
+     */
+    private void begin() {
+        // Players are counted down while they move into the arena
+        if (!this.stateMachine.transition(GameState.STAGING, GameState.COUNTDOWN)) return;
+
+        final World world = this.plugin.getWorldManager().getArenaWorld();
+        final LoadedArena loadedArena = this.plugin.getArenaManager().getLoadedArena(this.slot);
+        this.spatialGrid = new SpatialGrid(this.roster.size());
+        this.positionHistory = new PositionHistory(this.roster.size());
+        this.spawnSelector = new SpawnSelector(this.roster, this.spatialGrid, this.id ^ System.nanoTime());
+        this.shotEngine = new ShotEngine(this.plugin, this.roster, this.stateMachine, this.spatialGrid, this.positionHistory,
+                this.ammoTracker, this.combatLog, loadedArena != null ? loadedArena.getOccupancy() : null, world);
+
+        final List<Player> players = new ArrayList<>(this.roster.size());
+        final List<Location> destinations = new ArrayList<>(this.roster.size());
+        this.collectSpawnDestinations(players, destinations);
+
+        this.plugin.getTeleportPipeline().teleport(players, destinations, ARRIVAL_TIMEOUT)
+                .thenAccept(result -> this.activate(players, destinations, result));
+    }
+
+    /**
+     * Start play once every player has arrived or the arrival timeout ran out
+     */
+    private void activate(final List<Player> players, final List<Location> destinations, final TeleportPipeline.Result result) {
+        // The match may have been ended while players were in flight
+        if (!this.stateMachine.transition(GameState.COUNTDOWN, GameState.ACTIVE)) return;
+
+        for (int i = 0; i < players.size(); i++) {
+            final Player player = players.get(i);
+            if (!player.isOnline()) continue;
+
+            // Stragglers are moved the slow way rather than left behind, teleports still in flight finish on their own
+            if (result.isStraggler(player.getUniqueId())) {
+                this.plugin.logWarning("Player " + player.getName() + " did not arrive in time, teleporting directly");
+                player.teleport(destinations.get(i));
+            }
+            player.setGameMode(org.bukkit.GameMode.ADVENTURE);
+        }
+
+        this.trackingTask = this.plugin.getTimingWheel().scheduleRepeating(1L, 1L, this::trackPositions);
+        this.startGameTimer();
+        this.messagePlayersGameStart();
+
+        // Remove spawn armor stands after teleporting players
+        this.plugin.getArenaManager().getArenaEditor().removeSpawnArmorStands(this.slot);
+    }
+
+    /**
+     * Setup teams and equipment for all players
+     */
+    private void setupTeamsAndEquipment() {
+        final int playerCount = this.roster.size();
+        switch (this.gamemode) {
+            case TEAM_DEATHMATCH, FLAG_RUSH -> {
+                for (int playerId = 0; playerId < playerCount; playerId++) {
+                    final GameTeam team = (playerId % 2 == 0) ? GameTeam.RED : GameTeam.BLUE;
+                    this.assignTeam(playerId, team, this.gamemode.getLives());
+                }
+            }
+            case FREE_FOR_ALL -> {
+                for (int playerId = 0; playerId < playerCount; playerId++) {
+                    this.assignTeam(playerId, GameTeam.FREE, this.gamemode.getLives());
+                }
+            }
+            case JUGGERNAUT -> {
+                // Select juggernauts (20% of players, minimum 1)
+                final int juggernautCount = Math.max(1, (int) (playerCount * 0.2));
+
+                for (int playerId = 0; playerId < playerCount; playerId++) {
+                    if (playerId < juggernautCount) {
+                        this.assignTeam(playerId, GameTeam.JUGGERNAUT, 1);
+                    } else {
+                        this.assignTeam(playerId, GameTeam.PLAYERS, 3);
+                    }
+                }
+            }
+        }
+
+    }
+
+    private void assignTeam(final int playerId, final GameTeam team, final int lives) {
+        this.roster.setTeam(playerId, team);
+        this.roster.setLives(playerId, lives);
+        this.giveEquiptment(playerId, team);
+    }
+
+    /**
+     * Pick a spawn point for every online player
+     */
+    private void collectSpawnDestinations(final List<Player> players, final List<Location> destinations) {
+        // Spawns stored with the arena are authoritative, streamed editor saves and compiled
+        // arenas can carry stale or no markers
+        this.spawnPoints = this.getConfiguredSpawnPoints();
+
+        // Spawn types the config has none of fall back to the markers pasted with the arena, where legacy arenas keep them
+        this.plugin.getArenaManager().getArenaEditor().scanArmorStandsForSpawns(this.slot).forEach(this.spawnPoints::putIfAbsent);
+
+        this.plugin.logInfo("Found spawn points for game: " + this.spawnPoints.size() + " types");
+
+        for (int playerId = 0; playerId < this.roster.size(); playerId++) {
+            final Player player = this.roster.getPlayer(playerId);
+            if (player == null) continue;
+
+            players.add(player);
+            destinations.add(this.pickSpawn(playerId));
+        }
+    }
+
+    /**
+     * Pick the safest spawn of a player's team, or the slot center if the arena has none
+     */
+    private Location pickSpawn(final int playerId) {
+        final GameTeam team = this.roster.getTeam(playerId);
+        final List<Location> teamSpawns = this.getSpawnPointsForTeam(team, this.spawnPoints);
+        if (!teamSpawns.isEmpty()) {
+            return this.spawnSelector.select(playerId, teamSpawns, this.plugin.getTimingWheel().getCurrentTick());
+        }
+
+        this.plugin.logWarning("No spawn points found for team " + team + " in arena " + this.arena.getName() + ", using fallback spawn");
+        // Fallback to arena center
+        final BlockVector3 paste = ArenaManager.getSlotPasteLocation(this.slot);
+        return new Location(this.plugin.getWorldManager().getArenaWorld(), paste.getX(), paste.getY(), paste.getZ());
+    }
+
+    /**
+     * Get the spawn points stored in the arena configuration as locations in this match's slot
+     */
+    private Map<ArenaEditor.SpawnPointType, List<Location>> getConfiguredSpawnPoints() {
+        final Map<ArenaEditor.SpawnPointType, List<Location>> spawnPoints = new HashMap<>();
+        final LoadedArena loadedArena = this.plugin.getArenaManager().getLoadedArena(this.slot);
+        if (loadedArena == null) return spawnPoints;
+
+        final World world = loadedArena.getWorld();
+        for (final ArenaEditor.SpawnPointType type : ArenaEditor.SpawnPointType.values()) {
+            final Arena.SpawnType spawnType = type.toSpawnType();
+            for (int i = 0; i < this.arena.getSpawnCount(spawnType); i++) {
+                spawnPoints.computeIfAbsent(type, k -> new ArrayList<>()).add(this.arena.getSpawnLocation(spawnType, i, world,
+                        loadedArena.getPasteX(), loadedArena.getPasteY(), loadedArena.getPasteZ()));
+            }
+        }
+        return spawnPoints;
+    }
+
+    /**
+     * Get spawn points for a specific team
+     */
+    private List<Location> getSpawnPointsForTeam(final GameTeam team, final Map<ArenaEditor.SpawnPointType, List<Location>> spawnPoints) {
+        return switch (team) {
+            case RED -> spawnPoints.getOrDefault(ArenaEditor.SpawnPointType.RED_SPAWN, new ArrayList<>());
+            case BLUE -> spawnPoints.getOrDefault(ArenaEditor.SpawnPointType.BLUE_SPAWN, new ArrayList<>());
+            case FREE -> spawnPoints.getOrDefault(ArenaEditor.SpawnPointType.FREE_FOR_ALL_SPAWN, new ArrayList<>());
+            case JUGGERNAUT -> spawnPoints.getOrDefault(ArenaEditor.SpawnPointType.RED_SPAWN, new ArrayList<>());
+            case PLAYERS -> spawnPoints.getOrDefault(ArenaEditor.SpawnPointType.BLUE_SPAWN, new ArrayList<>());
+        };
+    }
+
+    /**
+     * Start the game timer
+     */
+    private void startGameTimer() {
+        this.gameTimeRemaining = this.gamemode.getDuration();
+        // Readers derive the time left from the end time, so the snapshot is not republished every second
+        this.gameEndTime = System.currentTimeMillis() + this.gameTimeRemaining * 1000L;
+        this.publishSnapshot();
+        
+        this.gameTimer = this.plugin.getTimingWheel().scheduleRepeating(20L, 20L, () -> {
+            this.gameTimeRemaining--;
+            
+            if (this.gameTimeRemaining <= 0) {
+                this.endGame();
+            } else if (this.gameTimeRemaining % 60 == 0 || this.gameTimeRemaining <= 10) {
+                // Broadcast time remaining
+                this.broadcast("<yellow>Time remaining: <white>" + this.gameTimeRemaining + "s");
+            }
+        }); // Run every second
+    }
+
+    /**
+     * Move every participant that can be hit to their current position in the spatial grid and
+     * record their hitbox for lag compensation. Dead, respawning, spectating and offline
+     * participants are taken out of the grid and left out of the frame.
+     */
+    private void trackPositions() {
+        final World world = this.plugin.getWorldManager().getArenaWorld();
+        this.positionHistory.beginFrame(this.plugin.getTimingWheel().getCurrentTick());
+        for (int playerId = 0; playerId < this.roster.size(); playerId++) {
+            final Player player = this.roster.getPlayer(playerId);
+            if (player == null || !this.roster.isAlive(playerId) || this.respawnQueue.isQueued(playerId)
+                    || player.getWorld() != world || player.getGameMode() == org.bukkit.GameMode.SPECTATOR) {
+                this.spatialGrid.remove(playerId);
+                continue;
+            }
+
+            player.getLocation(this.scratch);
+            this.spatialGrid.update(playerId, this.scratch.getX(), this.scratch.getY(), this.scratch.getZ());
+            this.positionHistory.record(playerId, this.scratch.getX(), this.scratch.getY(), this.scratch.getZ(),
+                    player.getWidth() / 2.0, player.getHeight());
+        }
+    }
+
+    /**
+     * Send a message to every participant that is online
+     */
+    private void broadcast(final String message) {
+        final Component component = MessageUtils.parseMessage(message);
+        for (int playerId = 0; playerId < this.roster.size(); playerId++) {
+            final Player player = this.roster.getPlayer(playerId);
+            if (player != null) {
+                player.sendMessage(component);
+            }
+        }
+    }
+
+    /**
+     * Message players that the game has started
+     */
+    private void messagePlayersGameStart() {
+        final String startMsg = "<green><bold>Game Started! <yellow>" + this.gamemode.getDisplayName() + 
+                               " <gray>on <white>" + this.arena.getName();
+        
+        for (int playerId = 0; playerId < this.roster.size(); playerId++) {
+            final Player player = this.roster.getPlayer(playerId);
+            if (player != null) {
+                player.sendMessage(MessageUtils.parseMessage(startMsg));
+                player.sendTitle(
+                    MessageUtils.stripColors(MessageUtils.parseMessage("<green><bold>GAME START!")),
+                    MessageUtils.stripColors(MessageUtils.parseMessage("<yellow>" + this.gamemode.getDisplayName())),
+                    10, 40, 10
+                );
+            }
+        }
+    }
+
+    /**
+     * End the match
+     */
+    public void endGame() {
+        if (!this.stateMachine.transitionTo(GameState.ENDING)) return;
+
+        // Cancel game timer, position tracking, pending respawns and paintballs in flight
+        this.plugin.getTimingWheel().cancel(this.gameTimer);
+        this.gameTimer = TimingWheel.NO_TIMER;
+        this.plugin.getTimingWheel().cancel(this.trackingTask);
+        this.trackingTask = TimingWheel.NO_TIMER;
+        this.respawnQueue.clear();
+        this.ammoTracker.clear();
+        if (this.shotEngine != null) {
+            this.shotEngine.clear();
+        }
+
+        // Save game statistics only if the match was actually played
+        if (this.stateMachine.hasEntered(GameState.ACTIVE)) {
+            this.saveGameStatistics();
+            if (this.gameManager.isCombatLogDump()) {
+                this.dumpCombatLog();
+            }
+        } else {
+            this.plugin.logWarning("Game did not load successfully - skipping stat saving");
+        }
+
+        // Show game results and teleport players back to lobby
+        this.plugin.getTimingWheel().schedule(100L, () -> {
+            this.stateMachine.transition(GameState.ENDING, GameState.RESETTING);
+
+            final List<Player> players = new ArrayList<>(this.roster.size());
+            for (int playerId = 0; playerId < this.roster.size(); playerId++) {
+                final Player player = this.roster.getPlayer(playerId);
+                if (player != null) {
+                    player.setGameMode(org.bukkit.GameMode.ADVENTURE);
+                    player.getInventory().clear();
+                    players.add(player);
+                }
+            }
+
+            final Location lobby = this.plugin.getWorldManager().getLobbySpawn();
+            if (lobby == null) {
+                players.forEach(this.plugin.getWorldManager()::teleportToLobby);
+                this.close();
+                return;
+            }
+
+            this.plugin.getTeleportPipeline().teleport(players, Collections.nCopies(players.size(), lobby), ARRIVAL_TIMEOUT)
+                    .thenAccept(result -> {
+                        for (final Player player : players) {
+                            if (player.isOnline() && result.isStraggler(player.getUniqueId())) {
+                                this.plugin.getWorldManager().teleportToLobby(player);
+                            }
+                        }
+                        this.close();
+                    });
+        }); // 5 second delay
+    }
+
+    /**
+     * Remove the arena and anything the match left behind, then free the slot
+     */
+    private void close() {
+        if (this.slot >= 0) {
+            // A paste still in flight must land before the slot is cleared and handed to another match
+            final int slot = this.slot;
+            this.arenaLoad.whenComplete((success, throwable) -> this.plugin.getArenaManager().unloadArena(slot));
+        }
+
+        this.gameManager.unregister(this);
+        this.stateMachine.transition(GameState.RESETTING, GameState.DISABLED);
+    }
+
+    private void giveEquiptment(final int playerId, final GameTeam team) {
+        final PlayerProfile profile = this.plugin.getPlayerManager().getPlayerProfile(this.roster.getUuid(playerId));
+        if (profile == null) return;
+
+        final Player player = this.roster.getPlayer(playerId);
+        if (player == null) return;
+
+        this.gameManager.getKitTemplates().apply(player, team);
+        this.ammoTracker.fill(playerId, profile.getCurrentPaintballCount(), profile.getCurrentReloadSpeed());
+    }
+
+    /**
+     * Write the combat log to the data folder, off the main thread
+     */
+    private void dumpCombatLog() {
+        final StringBuilder csv = new StringBuilder("tick,attacker,victim,weapon,distance,flags\n");
+        this.combatLog.appendCsv(csv, this.roster);
+        final String contents = csv.toString();
+        final File file = new File(new File(this.plugin.getDataFolder(), "combat-logs"), "game-" + this.id + "-" + System.currentTimeMillis() + ".csv");
+
+        Bukkit.getScheduler().runTaskAsynchronously(this.plugin, () -> {
+            try {
+                Files.createDirectories(file.getParentFile().toPath());
+                Files.writeString(file.toPath(), contents);
+            } catch (final IOException exception) {
+                this.plugin.logError("Failed to write combat log for game #" + this.id, exception);
+            }
+        });
+    }
+
+    private String getName(final int playerId) {
+        final Player player = this.roster.getPlayer(playerId);
+        return player != null ? player.getName() : "Unknown";
+    }
+
+    /**
+     * Save game statistics to player profiles
+     */
+    private void saveGameStatistics() {
+        if (this.gamemode == null) {
+            this.plugin.logWarning("Cannot save stats - no current gamemode");
+            return;
+        }
+
+        final long gameEndTime = System.currentTimeMillis();
+        final long gameDuration = gameEndTime - this.gameStartTime;
+        
+        this.plugin.logInfo("Saving game statistics for " + this.roster.size() + " players");
+        
+        // Determine winners based on gamemode
+        final boolean[] winners = this.determineWinners();
+        
+        // Save stats for each player
+        for (int playerId = 0; playerId < this.roster.size(); playerId++) {
+            final UUID uuid = this.roster.getUuid(playerId);
+            final PlayerProfile profile = this.plugin.getPlayerManager().getPlayerProfile(uuid);
+            if (profile == null) {
+                this.plugin.logWarning("Could not find profile for player: " + uuid);
+                continue;
+            }
+            
+            final GameStats gameStats = this.roster.getStats(playerId);
+            final boolean isWinner = winners[playerId];
+            final Player player = this.roster.getPlayer(playerId);
+            final String playerName = player != null ? player.getName() : "Unknown";
+            
+            // Update general statistics
+            profile.setTotalKills(profile.getTotalKills() + gameStats.getKills());
+            profile.setTotalDeaths(profile.getTotalDeaths() + gameStats.getDeaths());
+            profile.setTotalShots(profile.getTotalShots() + gameStats.getShots());
+            profile.setTotalGamesPlayed(profile.getTotalGamesPlayed() + 1);
+            profile.addPlayTime(gameDuration);
+            
+            if (isWinner) {
+                profile.setTotalWins(profile.getTotalWins() + 1);
+            } else {
+                profile.setTotalLosses(profile.getTotalLosses() + 1);
+            }
+            
+            // Update gamemode-specific statistics
+            final PlayerProfile.GameModeStats gameModeStats = profile.getGameModeStats(this.gamemode);
+            gameModeStats.setKills(gameModeStats.getKills() + gameStats.getKills());
+            gameModeStats.setDeaths(gameModeStats.getDeaths() + gameStats.getDeaths());
+            gameModeStats.setShots(gameModeStats.getShots() + gameStats.getShots());
+            gameModeStats.setGamesPlayed(gameModeStats.getGamesPlayed() + 1);
+            gameModeStats.setTotalPlayTime(gameModeStats.getTotalPlayTime() + gameDuration);
+            
+            if (isWinner) {
+                gameModeStats.setWins(gameModeStats.getWins() + 1);
+            } else {
+                gameModeStats.setLosses(gameModeStats.getLosses() + 1);
+            }
+            
+            // Update gamemode-specific stats (Flag Rush)
+            if (this.gamemode == Gamemode.FLAG_RUSH) {
+                // Flag captures and returns would be tracked during gameplay
+                // This is a placeholder for when those systems are implemented
+            }
+            
+            // Award experience based on performance
+            long experienceGained = this.calculateExperience(gameStats, isWinner);
+            profile.addExperience(experienceGained);
+            
+            // Award coins based on performance
+            long coinsGained = this.calculateCoins(gameStats, isWinner);
+            profile.addCoins(coinsGained);
+            
+            // Save the profile asynchronously
+            this.plugin.getPlayerManager().savePlayerProfile(profile);
+            
+            // Notify player of their performance
+            if (player != null) {
+                this.sendGameSummary(player, gameStats, isWinner, experienceGained, coinsGained);
+            }
+            
+            this.plugin.logInfo("Saved stats for " + playerName + " - K:" + gameStats.getKills() + 
+                               " D:" + gameStats.getDeaths() + " Winner:" + isWinner);
+        }
+    }
+    
+    /**
+     * Determine winners based on gamemode, using the winner decided early if there was one
+     *
+     * @return whether each player id won
+     */
+    private boolean[] determineWinners() {
+        final MatchRoster roster = this.roster;
+        final boolean[] winners = new boolean[roster.size()];
+
+        GameTeam winningTeam = this.winningTeam;
+        int winningPlayer = this.winningPlayer;
+
+        if (winningTeam == null && winningPlayer < 0) {
+            switch (this.gamemode) {
+                // Team with most kills wins
+                case TEAM_DEATHMATCH -> winningTeam = roster.getTeamKills(GameTeam.RED) >= roster.getTeamKills(GameTeam.BLUE)
+                        ? GameTeam.RED : GameTeam.BLUE;
+                // Player with most kills wins
+                case FREE_FOR_ALL -> winningPlayer = roster.getLeader();
+                // Juggernauts win if they survive, players win if they eliminate all juggernauts
+                case JUGGERNAUT -> winningTeam = roster.getAliveCount(GameTeam.JUGGERNAUT) > 0
+                        ? GameTeam.JUGGERNAUT : GameTeam.PLAYERS;
+                // Team that captured the most flags wins
+                case FLAG_RUSH -> winningTeam = roster.getTeamCaptures(GameTeam.RED) >= roster.getTeamCaptures(GameTeam.BLUE)
+                        ? GameTeam.RED : GameTeam.BLUE;
+            }
+        }
+
+        for (int playerId = 0; playerId < roster.size(); playerId++) {
+            winners[playerId] = playerId == winningPlayer || (winningTeam != null && roster.getTeam(playerId) == winningTeam);
+        }
+        return winners;
+    }
+    
+    /**
+     * Calculate experience gained based on performance
+     */
+    private long calculateExperience(final GameStats stats, final boolean isWinner) {
+        long experience = 0;
+        
+        // Base experience for participation
+        experience += 50;
+        
+        // Experience for kills
+        experience += stats.getKills() * 25;
+        
+        // Experience for flag actions (Flag Rush)
+        experience += stats.getFlagCaptures() * 100;
+        experience += stats.getFlagReturns() * 50;
+        
+        // Bonus for winning
+        if (isWinner) {
+            experience += 100;
+        }
+        
+        // Bonus for good K/D ratio
+        if (stats.getDeaths() > 0) {
+            final double kd = (double) stats.getKills() / stats.getDeaths();
+            if (kd >= 2.0) {
+                experience += 50;
+            } else if (kd >= 1.5) {
+                experience += 25;
+            }
+        } else if (stats.getKills() > 0) {
+            experience += 75; // No deaths bonus
+        }
+        
+        return experience;
+    }
+    
+    /**
+     * Calculate coins gained based on performance
+     */
+    private long calculateCoins(final GameStats stats, final boolean isWinner) {
+        long coins = 0;
+        
+        // Base coins for participation
+        coins += 25;
+        
+        // Coins for kills
+        coins += stats.getKills() * 10;
+        
+        // Coins for flag actions
+        coins += stats.getFlagCaptures() * 50;
+        coins += stats.getFlagReturns() * 25;
+        
+        // Bonus for winning
+        if (isWinner) {
+            coins += 50;
+        }
+        
+        return coins;
+    }
+    
+    /**
+     * Send game summary to player
+     */
+    private void sendGameSummary(final Player player, final GameStats stats, final boolean isWinner, 
+                                final long experienceGained, final long coinsGained) {
+        player.sendMessage(MessageUtils.parseMessage("<green><bold>===== GAME SUMMARY ====="));
+        player.sendMessage(MessageUtils.parseMessage("<yellow>Result: " + (isWinner ? "<green>VICTORY!" : "<red>DEFEAT")));
+        player.sendMessage(MessageUtils.parseMessage("<yellow>Gamemode: <white>" + this.gamemode.getDisplayName()));
+        player.sendMessage(MessageUtils.parseMessage("<yellow>Arena: <white>" + this.arena.getName()));
+        player.sendMessage(MessageUtils.parseMessage(""));
+        player.sendMessage(MessageUtils.parseMessage("<yellow>Performance:"));
+        player.sendMessage(MessageUtils.parseMessage("  <green>Kills: <white>" + stats.getKills()));
+        player.sendMessage(MessageUtils.parseMessage("  <red>Deaths: <white>" + stats.getDeaths()));
+        player.sendMessage(MessageUtils.parseMessage("  <yellow>Assists: <white>" + stats.getAssists()));
+        player.sendMessage(MessageUtils.parseMessage("  <blue>Shots: <white>" + stats.getShots()));
+        if (stats.getShots() > 0) {
+            player.sendMessage(MessageUtils.parseMessage("  <blue>Accuracy: <white>" + String.format("%.1f%%", 100.0 * stats.getHits() / stats.getShots())));
+        }
+
+        final int playerId = this.roster.indexOf(player);
+        if (playerId >= 0 && this.combatLog.getHitsDealt(playerId) > 0) {
+            player.sendMessage(MessageUtils.parseMessage("  <blue>Longest Hit: <white>" + String.format("%.1f", this.combatLog.getLongestHit(playerId)) + " blocks"));
+        }
+        
+        if (this.gamemode == Gamemode.FLAG_RUSH) {
+            player.sendMessage(MessageUtils.parseMessage("  <gold>Flag Captures: <white>" + stats.getFlagCaptures()));
+            player.sendMessage(MessageUtils.parseMessage("  <aqua>Flag Returns: <white>" + stats.getFlagReturns()));
+        }
+        
+        final double kd = stats.getDeaths() > 0 ? (double) stats.getKills() / stats.getDeaths() : stats.getKills();
+        player.sendMessage(MessageUtils.parseMessage("  <purple>K/D Ratio: <white>" + String.format("%.2f", kd)));
+        player.sendMessage(MessageUtils.parseMessage(""));
+        player.sendMessage(MessageUtils.parseMessage("<yellow>Rewards:"));
+        player.sendMessage(MessageUtils.parseMessage("  <aqua>Experience: <white>+" + experienceGained));
+        player.sendMessage(MessageUtils.parseMessage("  <gold>Coins: <white>+" + coinsGained));
+        player.sendMessage(MessageUtils.parseMessage("<green><bold>========================"));
+    }
+}
@@ -0,0 +1,40 @@
+package me.FrogTerra.paintball.game;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Lock-free multi-producer mailbox of match commands, drained by the main thread once per tick
+ */
+final class GameMailbox {
+
+    // Commands applied per tick, anything beyond waits for the next tick
+    private static final int MAX_COMMANDS_PER_TICK = 1024;
+
+    private final Queue<Envelope> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Post a command for a match, safe from any thread
+     */
+    void post(final GameInstance game, final GameCommand command) {
+        this.queue.offer(new Envelope(game, command));
+    }
+
+    /**
+     * Apply pending commands, must be called on the main thread
+     *
+     * @return the number of commands applied
+     */
+    int drain() {
+        int applied = 0;
+        Envelope envelope;
+        while (applied < MAX_COMMANDS_PER_TICK && (envelope = this.queue.poll()) != null) {
+            envelope.game().handle(envelope.command());
+            applied++;
+        }
+        return applied;
+    }
+
+    private record Envelope(GameInstance game, GameCommand command) {
+    }
+}
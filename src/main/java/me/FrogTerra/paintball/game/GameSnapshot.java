@@ -0,0 +1,45 @@
+package me.FrogTerra.paintball.game;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable view of a match, published by the main thread for readers on other threads
+ */
+public record GameSnapshot(int id, Gamemode gamemode, String arenaName, int slot, GameState gameState,
+                           long endTime, Map<UUID, GameTeam> playerTeams, Map<UUID, Integer> playerLives,
+                           Map<UUID, Integer> playerKills) {
+
+    public GameSnapshot {
+        playerTeams = Map.copyOf(playerTeams);
+        playerLives = Map.copyOf(playerLives);
+        playerKills = Map.copyOf(playerKills);
+    }
+
+    /**
+     * Get the seconds left on the match clock, or -1 if it is not running
+     */
+    public int timeRemaining() {
+        if (this.endTime == 0L) return -1;
+
+        return (int) Math.max(0L, (this.endTime - System.currentTimeMillis()) / 1000L);
+    }
+
+    /**
+     * Get the number of participants with lives left
+     */
+    public int aliveCount() {
+        int alive = 0;
+        for (final int lives : this.playerLives.values()) {
+            if (lives > 0) alive++;
+        }
+        return alive;
+    }
+
+    /**
+     * Check if a player takes part in the match
+     */
+    public boolean hasPlayer(final UUID playerId) {
+        return this.playerTeams.containsKey(playerId);
+    }
+}
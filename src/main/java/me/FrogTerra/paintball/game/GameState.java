@@ -9,9 +9,14 @@ public enum GameState {
      * Waiting for players to join the lobby
      */
     WAITING,
+
+    /**
+     * Arena is being loaded and teams assigned
+     */
+    STAGING,
     
     /**
-     * Countdown before game starts
+     * Countdown before game starts, players are moving into the arena
      */
     COUNTDOWN,
     
@@ -24,9 +29,32 @@ public enum GameState {
      * Game has ended, showing results
      */
     ENDING,
+
+    /**
+     * Players are returning to the lobby and the arena slot is being cleared
+     */
+    RESETTING,
     
     /**
-     * Server is restarting or maintenance
+     * Server is restarting or maintenance, also the final state of a finished match
      */
-    DISABLED
-}
\ No newline at end of file
+    DISABLED;
+
+    /**
+     * Check if a match may move from this state to another
+     */
+    public boolean canTransitionTo(final GameState next) {
+        return switch (this) {
+            case WAITING -> next == STAGING || next == DISABLED;
+            case STAGING, COUNTDOWN -> next == this.nextPhase() || next == ENDING;
+            case ACTIVE -> next == ENDING;
+            case ENDING -> next == RESETTING;
+            case RESETTING -> next == DISABLED;
+            case DISABLED -> false;
+        };
+    }
+
+    private GameState nextPhase() {
+        return values()[this.ordinal() + 1];
+    }
+}
@@ -1,61 +1,93 @@
 package me.FrogTerra.paintball.game;
 
-import lombok.Data;
-
 import java.util.UUID;
 
 /**
- * Represents a player's in-game stats
+ * Represents a player's in-game stats, a view over the match roster's arrays
  */
-@Data
-public class GameStats {
+public final class GameStats {
+
+    private final MatchRoster roster;
+    private final int id;
+
+    GameStats(final MatchRoster roster, final int id) {
+        this.roster = roster;
+        this.id = id;
+    }
+
+    public UUID getUuid() {
+        return this.roster.getUuid(this.id);
+    }
 
     // General Stats
-    private final UUID uuid;
-    private int kills = 0;
-    private int deaths = 0;
-    private int shots = 0;
+    public int getKills() {
+        return this.roster.getKills(this.id);
+    }
+
+    public int getDeaths() {
+        return this.roster.getDeaths(this.id);
+    }
+
+    public int getAssists() {
+        return this.roster.getAssists(this.id);
+    }
+
+    public int getShots() {
+        return this.roster.getShots(this.id);
+    }
+
+    public int getHits() {
+        return this.roster.getHits(this.id);
+    }
 
     // Flag Rush Specific Stats
-    private int flagCaptures = 0;
-    private int flagReturns = 0;
+    public int getFlagCaptures() {
+        return this.roster.getFlagCaptures(this.id);
+    }
 
-    public GameStats(UUID uuid) {
-        this.uuid = uuid;
+    public int getFlagReturns() {
+        return this.roster.getFlagReturns(this.id);
     }
-    
+
     /**
      * Add a kill to the stats
      */
     public void addKill() {
-        this.kills++;
+        this.roster.addKill(this.id);
     }
-    
+
     /**
      * Add a death to the stats
      */
     public void addDeath() {
-        this.deaths++;
+        this.roster.addDeath(this.id);
     }
-    
+
     /**
      * Add a shot to the stats
      */
     public void addShot() {
-        this.shots++;
+        this.roster.addShot(this.id);
     }
-    
+
+    /**
+     * Add a hit to the stats
+     */
+    public void addHit() {
+        this.roster.addHit(this.id);
+    }
+
     /**
      * Add a flag capture to the stats
      */
     public void addFlagCapture() {
-        this.flagCaptures++;
+        this.roster.addFlagCapture(this.id);
     }
-    
+
     /**
      * Add a flag return to the stats
      */
     public void addFlagReturn() {
-        this.flagReturns++;
+        this.roster.addFlagReturn(this.id);
     }
 }
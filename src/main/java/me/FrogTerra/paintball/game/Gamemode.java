@@ -68,6 +68,13 @@ public enum Gamemode {
         };
     }
 
+    /**
+     * Get the flag captures a team needs to win early, 0 if captures do not end the game
+     */
+    public int getCaptureLimit() {
+        return this == FLAG_RUSH ? 3 : 0;
+    }
+
     /**
      * Check if gamemode requires flag spawns
      */
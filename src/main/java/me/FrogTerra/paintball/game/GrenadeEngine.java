@@ -0,0 +1,193 @@
+package me.FrogTerra.paintball.game;
+
+import me.FrogTerra.paintball.Paintball;
+import me.FrogTerra.paintball.arena.VoxelOccupancy;
+import me.FrogTerra.paintball.item.WeaponDefinition;
+import me.FrogTerra.paintball.player.PlayerProfile;
+import me.FrogTerra.paintball.utility.TimingWheel;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+/**
+ * Entity-free paint grenades of one match.
+ * Thrown grenades fly a ballistic arc in a {@link BallisticStore} and burst on the first surface or
+ * when their fuse runs out. A burst is one radius query on the match's {@link SpatialGrid}; every
+ * enemy in range with line of sight through the voxel occupancy takes damage that falls off with
+ * distance, credited to the thrower. The blast area is painted in one batch by the {@link PaintRenderer},
+ * and damage is applied once every grenade of the tick has moved.
+ * Must only be used from the main thread.
+ */
+public final class GrenadeEngine {
+
+    // Blocks per tick squared
+    private static final double GRAVITY = 0.05;
+    private static final double DRAG = 0.98;
+    private static final int FUSE_TICKS = 60;
+    // Paint reaches a little less far than the blast
+    private static final double PAINT_RADIUS_SCALE = 0.75;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Paintball plugin;
+    private final MatchRoster roster;
+    private final SpatialGrid grid;
+    private final VoxelOccupancy occupancy;
+    private final World world;
+    private final ShotEngine shotEngine;
+
+    // Grenades in flight, their timers are fuses
+    private final BallisticStore flights = new BallisticStore(INITIAL_CAPACITY);
+    private final HitBuffer hits = new HitBuffer();
+
+    private final long[] nextThrowTicks;
+    private final int[] targets;
+    private final VoxelOccupancy.Hit blockHit = new VoxelOccupancy.Hit();
+    private final Location origin = new Location(null, 0, 0, 0);
+    private long task = TimingWheel.NO_TIMER;
+
+    public GrenadeEngine(final Paintball plugin, final MatchRoster roster, final SpatialGrid grid,
+                         final VoxelOccupancy occupancy, final World world, final ShotEngine shotEngine) {
+        this.plugin = plugin;
+        this.roster = roster;
+        this.grid = grid;
+        this.occupancy = occupancy;
+        this.world = world;
+        this.shotEngine = shotEngine;
+        this.nextThrowTicks = new long[roster.size()];
+        this.targets = new int[roster.size()];
+    }
+
+    /**
+     * Throw a grenade from a participant's eyes, unless their grenade is still on cooldown
+     *
+     * @return true if a grenade was thrown
+     */
+    public boolean throwGrenade(final int throwerId, final Player thrower, final WeaponDefinition grenade) {
+        final long now = this.plugin.getTimingWheel().getCurrentTick();
+        if (now < this.nextThrowTicks[throwerId]) return false;
+
+        // The cooldown comes from the thrower's upgrades, the item's own cooldown is the fallback
+        final PlayerProfile profile = this.plugin.getPlayerManager().getPlayerProfile(this.roster.getUuid(throwerId));
+        final int cooldown = profile != null ? (int) Math.round(profile.getCurrentGrenadeCooldown() * 20.0) : grenade.cooldownTicks();
+        this.nextThrowTicks[throwerId] = now + cooldown;
+        thrower.setCooldown(grenade.material(), cooldown);
+
+        thrower.getLocation(this.origin);
+        final double yaw = Math.toRadians(this.origin.getYaw());
+        final double pitch = Math.toRadians(this.origin.getPitch());
+        final double speed = grenade.speed() / 20.0;
+
+        this.flights.add(throwerId, grenade.id(), grenade.damage(),
+                this.origin.getX(), this.origin.getY() + thrower.getEyeHeight(), this.origin.getZ(),
+                -Math.sin(yaw) * Math.cos(pitch) * speed, -Math.sin(pitch) * speed, Math.cos(yaw) * Math.cos(pitch) * speed,
+                FUSE_TICKS);
+
+        if (this.task == TimingWheel.NO_TIMER) {
+            this.task = this.plugin.getTimingWheel().scheduleRepeating(1L, 1L, this::tick);
+        }
+        return true;
+    }
+
+    /**
+     * Drop every grenade in flight
+     */
+    public void clear() {
+        this.flights.clear();
+        this.plugin.getTimingWheel().cancel(this.task);
+        this.task = TimingWheel.NO_TIMER;
+    }
+
+    /**
+     * Get the number of grenades in flight
+     */
+    public int getCount() {
+        return this.flights.size();
+    }
+
+    private void tick() {
+        final BallisticStore flights = this.flights;
+
+        int index = 0;
+        while (index < flights.size()) {
+            double vx = flights.getVelocityX(index);
+            double vy = flights.getVelocityY(index) - GRAVITY;
+            double vz = flights.getVelocityZ(index);
+            final double x = flights.getX(index);
+            final double y = flights.getY(index);
+            final double z = flights.getZ(index);
+            final int owner = flights.getOwner(index);
+            final double step = Math.sqrt(vx * vx + vy * vy + vz * vz);
+
+            // Burst on the first surface, backed off it along the face normal so line of sight starts in the open
+            if (step > 0.0 && this.occupancy != null && this.occupancy.raycast(x, y, z, vx, vy, vz, step, this.blockHit)) {
+                final double impact = this.blockHit.getDistance() / step;
+                final int weapon = flights.getWeapon(index);
+                flights.remove(index);
+                this.detonate(owner, weapon,
+                        x + vx * impact + this.blockHit.getNormalX() * 0.2,
+                        y + vy * impact + this.blockHit.getNormalY() * 0.2,
+                        z + vz * impact + this.blockHit.getNormalZ() * 0.2);
+                continue;
+            }
+
+            if (flights.expire(index)) {
+                final int weapon = flights.getWeapon(index);
+                flights.remove(index);
+                this.detonate(owner, weapon, x, y, z);
+                continue;
+            }
+
+            vx *= DRAG;
+            vy *= DRAG;
+            vz *= DRAG;
+            flights.move(index, x + vx, y + vy, z + vz, vx, vy, vz, step);
+            this.world.spawnParticle(Particle.DUST, x + vx, y + vy, z + vz, 2, 0.05, 0.05, 0.05, 0.0,
+                    this.shotEngine.getSplatter(owner));
+            index++;
+        }
+
+        this.hits.apply(this.shotEngine, CombatLog.FLAG_GRENADE);
+
+        if (this.flights.size() == 0) {
+            this.plugin.getTimingWheel().cancel(this.task);
+            this.task = TimingWheel.NO_TIMER;
+        }
+    }
+
+    /**
+     * Burst a grenade: paint the area, then collect every enemy in range that the blast can see
+     */
+    private void detonate(final int owner, final int weaponId, final double x, final double y, final double z) {
+        final WeaponDefinition grenade = this.plugin.getItemRegistery().getWeaponRegistry().get(weaponId);
+        if (grenade == null) return;
+
+        final double radius = grenade.range();
+        this.world.spawnParticle(Particle.DUST, x, y, z, 40, radius / 3.0, radius / 3.0, radius / 3.0, 0.0,
+                this.shotEngine.getSplatter(owner));
+        this.shotEngine.getPaintRenderer().paintSphere(owner, x, y, z, radius * PAINT_RADIUS_SCALE);
+
+        final GameTeam ownerTeam = this.roster.getTeam(owner);
+        final int candidates = this.grid.queryRadius(x, y, z, radius, this.targets);
+        for (int i = 0; i < candidates; i++) {
+            final int target = this.targets[i];
+            if (target == owner || !this.roster.isAlive(target)) continue;
+            if (ownerTeam != GameTeam.FREE && this.roster.getTeam(target) == ownerTeam) continue;
+
+            // Aim for the middle of the body so a low wall does not shield a standing player
+            final Player player = this.roster.getPlayer(target);
+            final double targetX = this.grid.getX(target);
+            final double targetY = this.grid.getY(target);
+            final double targetZ = this.grid.getZ(target);
+            if (this.occupancy != null && !this.occupancy.hasLineOfSight(x, y, z,
+                    targetX, targetY + (player != null ? player.getHeight() / 2.0 : 0.9), targetZ, this.blockHit)) continue;
+
+            final double dx = targetX - x;
+            final double dy = targetY - y;
+            final double dz = targetZ - z;
+            final double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            final int damage = Math.max(1, (int) Math.round(grenade.damage() * (1.0 - distance / radius)));
+            this.hits.add(target, owner, damage, grenade.id(), (float) distance);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package me.FrogTerra.paintball.game;
+
+import java.util.Arrays;
+
+/**
+ * Player hits collected during an integration pass and applied once it is over.
+ * Damage can eliminate players and end the match, which must not happen while a pass is still
+ * walking its bodies. Must only be used from the main thread.
+ */
+final class HitBuffer {
+
+    private int[] victims = new int[16];
+    private int[] owners = new int[16];
+    private int[] damages = new int[16];
+    private int[] weapons = new int[16];
+    private float[] distances = new float[16];
+    private int count = 0;
+
+    void add(final int victim, final int owner, final int damage, final int weapon, final float distance) {
+        if (this.count == this.victims.length) {
+            final int capacity = this.count * 2;
+            this.victims = Arrays.copyOf(this.victims, capacity);
+            this.owners = Arrays.copyOf(this.owners, capacity);
+            this.damages = Arrays.copyOf(this.damages, capacity);
+            this.weapons = Arrays.copyOf(this.weapons, capacity);
+            this.distances = Arrays.copyOf(this.distances, capacity);
+        }
+
+        final int index = this.count++;
+        this.victims[index] = victim;
+        this.owners[index] = owner;
+        this.damages[index] = damage;
+        this.weapons[index] = weapon;
+        this.distances[index] = distance;
+    }
+
+    /**
+     * Apply every collected hit in the order it was collected, then empty the buffer
+     */
+    void apply(final ShotEngine shotEngine, final int flags) {
+        // Reset first so a hit that ends the match and clears the engines leaves nothing behind
+        final int hits = this.count;
+        this.count = 0;
+        for (int i = 0; i < hits; i++) {
+            shotEngine.applyHit(this.owners[i], this.victims[i], this.damages[i], this.weapons[i], this.distances[i], flags);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package me.FrogTerra.paintball.game;
+
+import me.FrogTerra.paintball.Paintball;
+import me.FrogTerra.paintball.item.ItemCreator;
+import org.bukkit.Color;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemRarity;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.LeatherArmorMeta;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Prebuilt match kits, one per team, shared by every match.
+ * Items are built once so applying a kit is a single bulk inventory update. Ammo is not an item,
+ * it is tracked by the match. The juggernaut carries the paintball launcher, whose lobbed paintballs
+ * hit harder, instead of the hitscan gun. Must only be used from the main thread.
+ */
+public final class KitTemplates {
+
+    // Slot layout of a full player inventory: 36 storage slots, then boots, leggings, chestplate, helmet and off hand
+    private static final int INVENTORY_SIZE = 41;
+    private static final int GUN_SLOT = 0;
+    private static final int GRENADE_SLOT = 1;
+    private static final int BOOTS_SLOT = 36;
+    private static final int LEGGINGS_SLOT = 37;
+    private static final int CHESTPLATE_SLOT = 38;
+    private static final int HELMET_SLOT = 39;
+
+    private final Map<GameTeam, ItemStack[]> templates = new EnumMap<>(GameTeam.class);
+
+    public KitTemplates(final Paintball plugin) {
+        final ItemStack gun = plugin.getItemRegistery().getCustomItem("paintball_gun");
+        final ItemStack launcher = plugin.getItemRegistery().getCustomItem("paintball_launcher");
+        final ItemStack grenade = plugin.getItemRegistery().getCustomItem("paint_grenade");
+        for (final GameTeam team : GameTeam.values()) {
+            final ItemStack[] contents = new ItemStack[INVENTORY_SIZE];
+            contents[GUN_SLOT] = team == GameTeam.JUGGERNAUT ? launcher : gun;
+            contents[GRENADE_SLOT] = grenade;
+            contents[HELMET_SLOT] = createArmorPiece(new ItemStack(getTeamHelmetMaterial(team)), team, "helmet");
+            contents[CHESTPLATE_SLOT] = createArmorPiece(createColoredLeatherArmor(Material.LEATHER_CHESTPLATE, getTeamArmorColor(team)), team, "chestplate");
+            contents[LEGGINGS_SLOT] = createArmorPiece(createColoredLeatherArmor(Material.LEATHER_LEGGINGS, getTeamArmorColor(team)), team, "leggings");
+            contents[BOOTS_SLOT] = createArmorPiece(createColoredLeatherArmor(Material.LEATHER_BOOTS, getTeamArmorColor(team)), team, "boots");
+            this.templates.put(team, contents);
+        }
+    }
+
+    /**
+     * Replace a player's whole inventory with their team's kit in one update
+     */
+    public void apply(final Player player, final GameTeam team) {
+        // Inventories keep their own copies of the stacks, so the template can be handed over as is
+        player.getInventory().setContents(this.templates.get(team));
+    }
+
+    private static ItemStack createArmorPiece(final ItemStack base, final GameTeam team, final String piece) {
+        return new ItemCreator(base)
+                .setDisplayName(team.getColor() + team.getDisplayName() + " " + piece)
+                .setRarity(ItemRarity.RARE)
+                .addItemFlags(ItemFlag.HIDE_ATTRIBUTES)
+                .getItemStack();
+    }
+
+    /**
+     * Get team armor color
+     */
+    static Color getTeamArmorColor(final GameTeam team) {
+        return switch (team) {
+            case RED -> Color.RED;
+            case BLUE -> Color.BLUE;
+            case FREE -> Color.WHITE;
+            case PLAYERS -> Color.GREEN;
+            case JUGGERNAUT -> Color.PURPLE;
+        };
+    }
+
+    /**
+     * Create colored leather armor piece
+     */
+    private static ItemStack createColoredLeatherArmor(final Material material, final Color color) {
+        final ItemStack armor = new ItemStack(material);
+        final LeatherArmorMeta meta = (LeatherArmorMeta) armor.getItemMeta();
+        meta.setColor(color);
+        armor.setItemMeta(meta);
+        return armor;
+    }
+
+    /**
+     * Get team helmet material (concrete blocks)
+     */
+    private static Material getTeamHelmetMaterial(final GameTeam team) {
+        return switch (team) {
+            case RED -> Material.RED_CONCRETE;
+            case BLUE -> Material.BLUE_CONCRETE;
+            case FREE -> Material.WHITE_CONCRETE; // Free for All
+            case JUGGERNAUT -> Material.PURPLE_CONCRETE;
+            case PLAYERS -> Material.GREEN_CONCRETE; // Non-juggernaut players
+        };
+    }
+}
@@ -0,0 +1,307 @@
+package me.FrogTerra.paintball.game;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Dense per-match player table. Every participant gets an int id at match start and
+ * all combat stats live in primitive arrays indexed by that id, so updates never box or hash.
+ * Team totals, alive counts and the kill leader are maintained as stats change, so win checks
+ * and scoreboards never rescan the players.
+ * Must only be used from the main thread.
+ */
+public final class MatchRoster {
+
+    private static final GameTeam[] TEAMS = GameTeam.values();
+    // Team id of a player that has not been assigned yet
+    private static final byte NO_TEAM = -1;
+
+    private final UUID[] uuids;
+    private final Map<UUID, Integer> ids;
+    private final Player[] players;
+
+    private final int[] kills;
+    private final int[] deaths;
+    private final int[] assists;
+    private final int[] shots;
+    private final int[] hits;
+    private final int[] flagCaptures;
+    private final int[] flagReturns;
+    private final int[] lives;
+    private final byte[] teams;
+
+    // Per-team aggregates indexed by team ordinal
+    private final int[] teamSizes = new int[TEAMS.length];
+    private final int[] teamKills = new int[TEAMS.length];
+    private final int[] teamCaptures = new int[TEAMS.length];
+    private final int[] teamAlive = new int[TEAMS.length];
+    private int teamsAlive = 0;
+    private int leader = -1;
+
+    public MatchRoster(final List<UUID> participants) {
+        final int size = participants.size();
+        this.uuids = participants.toArray(new UUID[0]);
+        this.ids = new HashMap<>(size * 2);
+        this.players = new Player[size];
+
+        this.kills = new int[size];
+        this.deaths = new int[size];
+        this.assists = new int[size];
+        this.shots = new int[size];
+        this.hits = new int[size];
+        this.flagCaptures = new int[size];
+        this.flagReturns = new int[size];
+        this.lives = new int[size];
+        this.teams = new byte[size];
+        Arrays.fill(this.teams, NO_TEAM);
+
+        for (int id = 0; id < size; id++) {
+            this.ids.put(this.uuids[id], id);
+            this.players[id] = Bukkit.getPlayer(this.uuids[id]);
+        }
+    }
+
+    /**
+     * Get the number of participants
+     */
+    public int size() {
+        return this.uuids.length;
+    }
+
+    /**
+     * Get the dense id of a participant, or -1 if they are not in the match
+     */
+    public int indexOf(final UUID uuid) {
+        final Integer id = this.ids.get(uuid);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Get the dense id of a participant, or -1 if they are not in the match
+     */
+    public int indexOf(final Player player) {
+        return this.indexOf(player.getUniqueId());
+    }
+
+    public UUID getUuid(final int id) {
+        return this.uuids[id];
+    }
+
+    /**
+     * Get the online player for an id, re-resolving once if the cached reference was invalidated
+     */
+    public Player getPlayer(final int id) {
+        Player player = this.players[id];
+        if (player == null) {
+            player = Bukkit.getPlayer(this.uuids[id]);
+            this.players[id] = player;
+        }
+        return player;
+    }
+
+    /**
+     * Drop the cached player reference, e.g. when they quit
+     */
+    public void invalidatePlayer(final int id) {
+        this.players[id] = null;
+    }
+
+    /**
+     * Get the team of an id, or null if it has not been assigned
+     */
+    public GameTeam getTeam(final int id) {
+        return this.teams[id] == NO_TEAM ? null : TEAMS[this.teams[id]];
+    }
+
+    /**
+     * Assign a player to a team, moving their contribution to the team totals
+     */
+    public void setTeam(final int id, final GameTeam team) {
+        final int previous = this.teams[id];
+        if (previous != NO_TEAM) {
+            this.teamSizes[previous]--;
+            this.teamKills[previous] -= this.kills[id];
+            this.teamCaptures[previous] -= this.flagCaptures[id];
+            if (this.isAlive(id)) this.adjustAlive(previous, -1);
+        }
+
+        final int next = team.ordinal();
+        this.teams[id] = (byte) next;
+        this.teamSizes[next]++;
+        this.teamKills[next] += this.kills[id];
+        this.teamCaptures[next] += this.flagCaptures[id];
+        if (this.isAlive(id)) this.adjustAlive(next, 1);
+    }
+
+    /**
+     * Get the team ordinal of an id, for indexing per-team arrays
+     */
+    public int getTeamId(final int id) {
+        return this.teams[id];
+    }
+
+    public int getLives(final int id) {
+        return this.lives[id];
+    }
+
+    /**
+     * Set the lives of a player, -1 for unlimited
+     */
+    public void setLives(final int id, final int lives) {
+        final boolean wasAlive = this.isAlive(id);
+        this.lives[id] = lives;
+        this.updateAlive(id, wasAlive);
+    }
+
+    /**
+     * Take a life away, unlimited lives are never used up
+     *
+     * @return the lives left
+     */
+    public int removeLife(final int id) {
+        if (this.lives[id] > 0) {
+            final boolean wasAlive = this.isAlive(id);
+            this.lives[id]--;
+            this.updateAlive(id, wasAlive);
+        }
+        return this.lives[id];
+    }
+
+    /**
+     * Check if a player still has lives left
+     */
+    public boolean isAlive(final int id) {
+        return this.lives[id] != 0;
+    }
+
+    private void updateAlive(final int id, final boolean wasAlive) {
+        final int team = this.teams[id];
+        if (team == NO_TEAM) return;
+
+        final boolean alive = this.isAlive(id);
+        if (alive != wasAlive) {
+            this.adjustAlive(team, alive ? 1 : -1);
+        }
+    }
+
+    private void adjustAlive(final int team, final int delta) {
+        final int before = this.teamAlive[team];
+        this.teamAlive[team] = before + delta;
+        if (before == 0 && delta > 0) {
+            this.teamsAlive++;
+        } else if (before + delta == 0 && delta < 0) {
+            this.teamsAlive--;
+        }
+    }
+
+    public int getKills(final int id) {
+        return this.kills[id];
+    }
+
+    public int getDeaths(final int id) {
+        return this.deaths[id];
+    }
+
+    public int getAssists(final int id) {
+        return this.assists[id];
+    }
+
+    public int getShots(final int id) {
+        return this.shots[id];
+    }
+
+    public int getHits(final int id) {
+        return this.hits[id];
+    }
+
+    public int getFlagCaptures(final int id) {
+        return this.flagCaptures[id];
+    }
+
+    public int getFlagReturns(final int id) {
+        return this.flagReturns[id];
+    }
+
+    public void addKill(final int id) {
+        this.kills[id]++;
+        if (this.teams[id] != NO_TEAM) {
+            this.teamKills[this.teams[id]]++;
+        }
+        if (this.leader < 0 || this.kills[id] > this.kills[this.leader]) {
+            this.leader = id;
+        }
+    }
+
+    public void addDeath(final int id) {
+        this.deaths[id]++;
+    }
+
+    public void addAssist(final int id) {
+        this.assists[id]++;
+    }
+
+    public void addShot(final int id) {
+        this.shots[id]++;
+    }
+
+    public void addHit(final int id) {
+        this.hits[id]++;
+    }
+
+    public void addFlagCapture(final int id) {
+        this.flagCaptures[id]++;
+        if (this.teams[id] != NO_TEAM) {
+            this.teamCaptures[this.teams[id]]++;
+        }
+    }
+
+    public void addFlagReturn(final int id) {
+        this.flagReturns[id]++;
+    }
+
+    public int getTeamSize(final GameTeam team) {
+        return this.teamSizes[team.ordinal()];
+    }
+
+    public int getTeamKills(final GameTeam team) {
+        return this.teamKills[team.ordinal()];
+    }
+
+    public int getTeamCaptures(final GameTeam team) {
+        return this.teamCaptures[team.ordinal()];
+    }
+
+    /**
+     * Get the number of players on a team with lives left
+     */
+    public int getAliveCount(final GameTeam team) {
+        return this.teamAlive[team.ordinal()];
+    }
+
+    /**
+     * Get the number of teams that still have a player with lives left
+     */
+    public int getTeamsAlive() {
+        return this.teamsAlive;
+    }
+
+    /**
+     * Get the id of the player with the most kills, ties go to who got there first, or -1 before any kill
+     */
+    public int getLeader() {
+        return this.leader;
+    }
+
+    /**
+     * Get a stats view of a participant
+     */
+    public GameStats getStats(final int id) {
+        return new GameStats(this, id);
+    }
+}
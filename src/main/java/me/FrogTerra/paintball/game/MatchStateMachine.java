@@ -0,0 +1,152 @@
+package me.FrogTerra.paintball.game;
+
+import me.FrogTerra.paintball.Paintball;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lifecycle of a single match. Transitions are compare-and-set so a stale caller can never
+ * move a match backwards, and the time each phase was entered and left is recorded for metrics.
+ * Listeners run on the thread that made the transition.
+ */
+public final class MatchStateMachine {
+
+    private static final GameState[] STATES = GameState.values();
+    // nanoTime has an arbitrary origin and may be zero or negative, so this marks a phase never entered or left
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final Paintball plugin;
+    private final String name;
+    private final AtomicReference<GameState> state = new AtomicReference<>(GameState.WAITING);
+    private final AtomicLongArray enteredAt = new AtomicLongArray(STATES.length);
+    private final AtomicLongArray exitedAt = new AtomicLongArray(STATES.length);
+
+    private final Map<GameState, List<Runnable>> entryListeners = new EnumMap<>(GameState.class);
+    private final Map<GameState, List<Runnable>> exitListeners = new EnumMap<>(GameState.class);
+    private final List<TransitionListener> transitionListeners = new ArrayList<>();
+
+    public MatchStateMachine(final Paintball plugin, final String name) {
+        this.plugin = plugin;
+        this.name = name;
+        for (int i = 0; i < STATES.length; i++) {
+            this.enteredAt.set(i, NEVER);
+            this.exitedAt.set(i, NEVER);
+        }
+        this.enteredAt.set(GameState.WAITING.ordinal(), System.nanoTime());
+    }
+
+    /**
+     * Get the current state, safe from any thread
+     */
+    public GameState get() {
+        return this.state.get();
+    }
+
+    /**
+     * Check if the match is in a state
+     */
+    public boolean is(final GameState state) {
+        return this.state.get() == state;
+    }
+
+    /**
+     * Move from an expected state to the next one
+     *
+     * @return false if the match was no longer in the expected state
+     * @throws IllegalStateException if the transition is not allowed
+     */
+    public boolean transition(final GameState from, final GameState to) {
+        if (!from.canTransitionTo(to)) {
+            throw new IllegalStateException(this.name + " cannot move from " + from + " to " + to);
+        }
+        if (!this.state.compareAndSet(from, to)) return false;
+
+        final long now = System.nanoTime();
+        this.exitedAt.set(from.ordinal(), now);
+        this.enteredAt.set(to.ordinal(), now);
+
+        this.fire(this.exitListeners.get(from), from, to);
+        this.fire(this.entryListeners.get(to), from, to);
+        for (final TransitionListener listener : this.transitionListeners) {
+            try {
+                listener.onTransition(from, to);
+            } catch (final Exception exception) {
+                this.plugin.logError("State listener failed for " + this.name + " (" + from + " -> " + to + ")", exception);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Move from whichever state the match is in to the next one, if that transition is allowed
+     *
+     * @return false if the current state cannot move there
+     */
+    public boolean transitionTo(final GameState to) {
+        while (true) {
+            final GameState from = this.state.get();
+            if (!from.canTransitionTo(to)) return false;
+            if (this.transition(from, to)) return true;
+        }
+    }
+
+    /**
+     * Run a task whenever the match enters a state
+     */
+    public void onEnter(final GameState state, final Runnable listener) {
+        this.entryListeners.computeIfAbsent(state, key -> new ArrayList<>()).add(listener);
+    }
+
+    /**
+     * Run a task whenever the match leaves a state
+     */
+    public void onExit(final GameState state, final Runnable listener) {
+        this.exitListeners.computeIfAbsent(state, key -> new ArrayList<>()).add(listener);
+    }
+
+    /**
+     * Run a task on every transition
+     */
+    public void onTransition(final TransitionListener listener) {
+        this.transitionListeners.add(listener);
+    }
+
+    /**
+     * Check if the match ever entered a state
+     */
+    public boolean hasEntered(final GameState state) {
+        return this.enteredAt.get(state.ordinal()) != NEVER;
+    }
+
+    /**
+     * Get how long the match spent in a state, up to now if it is still in it, or -1 if it never entered it
+     */
+    public long getPhaseNanos(final GameState state) {
+        final long entered = this.enteredAt.get(state.ordinal());
+        if (entered == NEVER) return -1L;
+
+        final long exited = this.exitedAt.get(state.ordinal());
+        return (exited != NEVER ? exited : System.nanoTime()) - entered;
+    }
+
+    private void fire(final List<Runnable> listeners, final GameState from, final GameState to) {
+        if (listeners == null) return;
+        for (final Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (final Exception exception) {
+                this.plugin.logError("State listener failed for " + this.name + " (" + from + " -> " + to + ")", exception);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface TransitionListener {
+        void onTransition(GameState from, GameState to);
+    }
+}
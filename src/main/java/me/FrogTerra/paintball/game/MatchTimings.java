@@ -0,0 +1,110 @@
+package me.FrogTerra.paintball.game;
+
+import lombok.Getter;
+import me.FrogTerra.paintball.Paintball;
+import org.bukkit.Bukkit;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Aggregates how long finished matches spent in each phase and appends one CSV row per match,
+ * so staging, teleport, play and reset times can be graphed across many matches.
+ * Recording happens on the main thread, the file is written asynchronously.
+ */
+public final class MatchTimings {
+
+    // Phases a match passes through between WAITING and DISABLED
+    private static final GameState[] PHASES = {
+            GameState.STAGING, GameState.COUNTDOWN, GameState.ACTIVE, GameState.ENDING, GameState.RESETTING
+    };
+
+    private final Paintball plugin;
+    private final File file;
+
+    @Getter private long matchesRecorded = 0L;
+    private final long[] phaseCounts = new long[PHASES.length];
+    private final long[] phaseTotalNanos = new long[PHASES.length];
+    private final long[] phaseMaxNanos = new long[PHASES.length];
+
+    public MatchTimings(final Paintball plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "match-timings.csv");
+    }
+
+    /**
+     * Record the phase durations of a finished match
+     */
+    public void record(final GameInstance game) {
+        final MatchStateMachine stateMachine = game.getStateMachine();
+        final StringBuilder row = new StringBuilder()
+                .append(game.getId()).append(',')
+                .append(game.getGamemode().name()).append(',')
+                .append(game.getArena().getName()).append(',')
+                .append(game.getPlayerCount());
+
+        long totalNanos = 0L;
+        for (int i = 0; i < PHASES.length; i++) {
+            final long nanos = stateMachine.getPhaseNanos(PHASES[i]);
+            row.append(',');
+            if (nanos < 0L) continue;
+
+            this.phaseCounts[i]++;
+            this.phaseTotalNanos[i] += nanos;
+            this.phaseMaxNanos[i] = Math.max(this.phaseMaxNanos[i], nanos);
+            totalNanos += nanos;
+            row.append(nanos / 1_000_000L);
+        }
+        row.append(',').append(totalNanos / 1_000_000L).append('\n');
+        this.matchesRecorded++;
+
+        final String line = row.toString();
+        Bukkit.getScheduler().runTaskAsynchronously(this.plugin, () -> this.append(line));
+    }
+
+    /**
+     * Get the average time spent in a phase in milliseconds, or -1 if no match has reached it
+     */
+    public long getAverageMillis(final GameState phase) {
+        final int index = indexOf(phase);
+        if (index < 0 || this.phaseCounts[index] == 0L) return -1L;
+        return this.phaseTotalNanos[index] / this.phaseCounts[index] / 1_000_000L;
+    }
+
+    /**
+     * Get the longest time spent in a phase in milliseconds, or -1 if no match has reached it
+     */
+    public long getMaxMillis(final GameState phase) {
+        final int index = indexOf(phase);
+        if (index < 0 || this.phaseCounts[index] == 0L) return -1L;
+        return this.phaseMaxNanos[index] / 1_000_000L;
+    }
+
+    /**
+     * Get the phases that are timed, in order
+     */
+    public static GameState[] getPhases() {
+        return PHASES.clone();
+    }
+
+    private synchronized void append(final String line) {
+        final boolean header = !this.file.exists();
+        try (final Writer writer = new FileWriter(this.file, true)) {
+            if (header) {
+                writer.write("game_id,gamemode,arena,players,staging_ms,countdown_ms,active_ms,ending_ms,resetting_ms,total_ms\n");
+            }
+            writer.write(line);
+        } catch (final IOException exception) {
+            this.plugin.logError("Failed to write match timings", exception);
+        }
+    }
+
+    private static int indexOf(final GameState phase) {
+        for (int i = 0; i < PHASES.length; i++) {
+            if (PHASES[i] == phase) return i;
+        }
+        return -1;
+    }
+}
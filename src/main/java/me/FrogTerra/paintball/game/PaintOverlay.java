@@ -0,0 +1,198 @@
+package me.FrogTerra.paintball.game;
+
+import java.util.Arrays;
+
+/**
+ * Primitive open-addressing map from long keys to int values, held in two arrays.
+ * Used for the paint of one match, from packed block keys to packed colour and paint tick, and for its
+ * per-chunk block counts. Block keys sort by chunk section first, so a sorted run of keys is a section's
+ * worth of blocks. Must only be used from the main thread.
+ */
+final class PaintOverlay {
+
+    static final int NONE = -1;
+    static final long EMPTY = Long.MIN_VALUE;
+    // Packed values: colour index in the top 4 bits, paint tick in the rest
+    private static final int TICK_BITS = 28;
+    static final int TICK_MASK = (1 << TICK_BITS) - 1;
+
+    private long[] keys = new long[1024];
+    private int[] values = new int[1024];
+    private int size = 0;
+
+    PaintOverlay() {
+        Arrays.fill(this.keys, EMPTY);
+    }
+
+    /**
+     * Get the value of a key
+     *
+     * @return the value, or {@link #NONE} if the key is absent
+     */
+    int get(final long key) {
+        final int mask = this.keys.length - 1;
+        for (int index = mix(key) & mask; ; index = (index + 1) & mask) {
+            if (this.keys[index] == key) return this.values[index];
+            if (this.keys[index] == EMPTY) return NONE;
+        }
+    }
+
+    /**
+     * Set the value of a key, replacing any value it had
+     */
+    void put(final long key, final int value) {
+        if ((this.size + 1) * 2 > this.keys.length) {
+            this.rehash();
+        }
+
+        final int mask = this.keys.length - 1;
+        int index = mix(key) & mask;
+        while (this.keys[index] != EMPTY && this.keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        if (this.keys[index] == EMPTY) {
+            this.keys[index] = key;
+            this.size++;
+        }
+        this.values[index] = value;
+    }
+
+    /**
+     * Remove a key, shifting later entries of its probe run back so lookups never need tombstones
+     */
+    void remove(final long key) {
+        final int mask = this.keys.length - 1;
+        int hole = mix(key) & mask;
+        while (this.keys[hole] != key) {
+            if (this.keys[hole] == EMPTY) return;
+            hole = (hole + 1) & mask;
+        }
+
+        for (int next = (hole + 1) & mask; this.keys[next] != EMPTY; next = (next + 1) & mask) {
+            // An entry may only move back if the hole lies between its home slot and where it is now
+            final int home = mix(this.keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                this.keys[hole] = this.keys[next];
+                this.values[hole] = this.values[next];
+                hole = next;
+            }
+        }
+        this.keys[hole] = EMPTY;
+        this.size--;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Get the number of slots, for iterating with {@link #keyAt} and {@link #valueAt}
+     */
+    int capacity() {
+        return this.keys.length;
+    }
+
+    /**
+     * Get the key in a slot, or {@link #EMPTY}
+     */
+    long keyAt(final int slot) {
+        return this.keys[slot];
+    }
+
+    int valueAt(final int slot) {
+        return this.values[slot];
+    }
+
+    static int paint(final int colour, final long tick) {
+        return colour << TICK_BITS | (int) (tick & TICK_MASK);
+    }
+
+    static int colourOf(final int value) {
+        return value >>> TICK_BITS;
+    }
+
+    static int tickOf(final int value) {
+        return value & TICK_MASK;
+    }
+
+    private void rehash() {
+        final long[] oldKeys = this.keys;
+        final int[] oldValues = this.values;
+        this.keys = new long[oldKeys.length * 2];
+        this.values = new int[oldKeys.length * 2];
+        Arrays.fill(this.keys, EMPTY);
+
+        final int mask = this.keys.length - 1;
+        for (int old = 0; old < oldKeys.length; old++) {
+            if (oldKeys[old] == EMPTY) continue;
+
+            int index = mix(oldKeys[old]) & mask;
+            while (this.keys[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            this.keys[index] = oldKeys[old];
+            this.values[index] = oldValues[old];
+        }
+    }
+
+    /**
+     * Pack a block position as section x (22 bits), section z (22 bits), section y (8 bits) and the
+     * block's index inside its section (12 bits)
+     */
+    static long blockKey(final int x, final int y, final int z) {
+        return ((long) (x >> 4) & 0x3FFFFFL) << 42
+                | ((long) (z >> 4) & 0x3FFFFFL) << 20
+                | ((long) (y >> 4) & 0xFFL) << 12
+                | (long) ((y & 15) << 8 | (z & 15) << 4 | (x & 15));
+    }
+
+    /**
+     * Pack a chunk position
+     */
+    static long chunkKey(final int chunkX, final int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Get the key of the chunk a block key lies in
+     */
+    static long chunkOf(final long key) {
+        return chunkKey(sectionX(key), sectionZ(key));
+    }
+
+    /**
+     * Get the part of a block key that identifies its section
+     */
+    static long sectionOf(final long key) {
+        return key >>> 12;
+    }
+
+    static int sectionX(final long key) {
+        return (int) (key >> 42);
+    }
+
+    static int sectionY(final long key) {
+        return (int) (key << 44 >> 56);
+    }
+
+    static int sectionZ(final long key) {
+        return (int) (key << 22 >> 42);
+    }
+
+    static int blockX(final long key) {
+        return sectionX(key) << 4 | (int) (key & 15);
+    }
+
+    static int blockY(final long key) {
+        return sectionY(key) << 4 | (int) (key >> 8 & 15);
+    }
+
+    static int blockZ(final long key) {
+        return sectionZ(key) << 4 | (int) (key >> 4 & 15);
+    }
+
+    private static int mix(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,411 @@
+package me.FrogTerra.paintball.game;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.protocol.world.states.WrappedBlockState;
+import com.github.retrooper.packetevents.util.Vector3i;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerMultiBlockChange;
+import io.github.retrooper.packetevents.util.SpigotConversionUtil;
+import lombok.Getter;
+import me.FrogTerra.paintball.Paintball;
+import me.FrogTerra.paintball.arena.VoxelOccupancy;
+import me.FrogTerra.paintball.utility.TimingWheel;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+
+/**
+ * Paint splatters of one match, rendered only on the clients of its participants.
+ * The server's blocks never change, so resetting the arena costs nothing. Painted blocks are recorded
+ * in a {@link PaintOverlay} with their colour and paint tick, and buffered over the tick; the buffer is
+ * then sorted by chunk section and every section with changes goes out as one multi-block-change packet
+ * per viewer. The overlay is capped: once full, or once paint is old enough to fade, the least recently
+ * painted blocks are dropped and reverted on clients through the same batches. Chunks a player starts
+ * tracking again get their paint resent. Must only be used from the main thread.
+ */
+public final class PaintRenderer {
+
+    private static final Material[] PAINTS = {
+            Material.RED_CONCRETE, Material.BLUE_CONCRETE, Material.LIME_CONCRETE, Material.PURPLE_CONCRETE,
+            // Free for all players each get one of these
+            Material.ORANGE_CONCRETE, Material.YELLOW_CONCRETE, Material.MAGENTA_CONCRETE,
+            Material.LIGHT_BLUE_CONCRETE, Material.WHITE_CONCRETE
+    };
+    private static final int FREE_PAINTS = 5;
+
+    // Most painted blocks kept at once, the oldest are reverted beyond this
+    private static final int MAX_PAINTED = 65_536;
+    // Paint fades after three minutes, a bounded number of blocks per tick
+    private static final long FADE_TICKS = 3 * 60 * 20L;
+    private static final int FADES_PER_TICK = 256;
+    // Chunk resends handled per tick, each costs one pass over the overlay
+    private static final int RESENDS_PER_TICK = 16;
+
+    private final Paintball plugin;
+    private final MatchRoster roster;
+    private final VoxelOccupancy occupancy;
+    private final World world;
+    private final WrappedBlockState[] paintStates = new WrappedBlockState[PAINTS.length];
+    private final long startTick;
+
+    private final PaintOverlay overlay = new PaintOverlay();
+    private final PaintOverlay chunkCounts = new PaintOverlay();
+
+    // Blocks in the order they were last painted; repainting appends again and leaves a stale entry behind
+    private final long[] ageKeys = new long[MAX_PAINTED * 2];
+    private final int[] ageValues = new int[MAX_PAINTED * 2];
+    private int ageHead = 0;
+    private int ageSize = 0;
+
+    // Blocks changed this tick, painted or reverted
+    private long[] pending = new long[256];
+    private int pendingCount = 0;
+
+    // Chunks to resend to a player
+    private Player[] resendPlayers = new Player[RESENDS_PER_TICK];
+    private long[] resendChunks = new long[RESENDS_PER_TICK];
+    private int resendCount = 0;
+    private int resendBatch = 0;
+    private long[] resendKeys = new long[256];
+
+    private long task = TimingWheel.NO_TIMER;
+
+    @Getter private long packetsSent = 0L;
+    @Getter private long evictedTotal = 0L;
+
+    public PaintRenderer(final Paintball plugin, final MatchRoster roster, final VoxelOccupancy occupancy, final World world) {
+        this.plugin = plugin;
+        this.roster = roster;
+        this.occupancy = occupancy;
+        this.world = world;
+        this.startTick = plugin.getTimingWheel().getCurrentTick();
+
+        for (int colour = 0; colour < PAINTS.length; colour++) {
+            this.paintStates[colour] = SpigotConversionUtil.fromBukkitBlockData(PAINTS[colour].createBlockData());
+        }
+    }
+
+    /**
+     * Splash paint around the face of a block a paintball hit, in the shooter's colour.
+     * Without occupancy data only the hit block is painted, if it is a full cube.
+     */
+    public void paint(final int shooterId, final int x, final int y, final int z, final int normalX, final int normalY, final int normalZ) {
+        final int colour = this.colourOf(shooterId);
+        if (this.occupancy == null) {
+            if (this.world.getBlockAt(x, y, z).getType().isOccluding()) {
+                this.mark(x, y, z, colour);
+            }
+            return;
+        }
+
+        // The two axes along the hit face: y and z for an x face, x and z for a y face, x and y for a z face
+        final int uX = normalX != 0 ? 0 : 1;
+        final int uY = normalX != 0 ? 1 : 0;
+        final int vY = normalZ != 0 ? 1 : 0;
+        final int vZ = normalZ != 0 ? 0 : 1;
+
+        for (int a = -1; a <= 1; a++) {
+            for (int b = -1; b <= 1; b++) {
+                final int blockX = x + a * uX;
+                final int blockY = y + a * uY + b * vY;
+                final int blockZ = z + b * vZ;
+
+                // Only full cubes with an exposed face take paint, so clients never see a changed collision shape
+                if (!this.occupancy.isPaintable(blockX, blockY, blockZ)
+                        || this.occupancy.isSolid(blockX + normalX, blockY + normalY, blockZ + normalZ)) continue;
+                this.mark(blockX, blockY, blockZ, colour);
+            }
+        }
+    }
+
+    /**
+     * Paint every exposed full cube within a radius of a grenade burst in the thrower's colour.
+     * The blocks join this tick's batch, so the whole blast goes out as one packet per section.
+     * Without occupancy data nothing is painted.
+     */
+    public void paintSphere(final int shooterId, final double x, final double y, final double z, final double radius) {
+        if (this.occupancy == null) return;
+
+        final int colour = this.colourOf(shooterId);
+        final double radiusSquared = radius * radius;
+        final int minX = (int) Math.floor(x - radius);
+        final int minY = (int) Math.floor(y - radius);
+        final int minZ = (int) Math.floor(z - radius);
+        final int maxX = (int) Math.floor(x + radius);
+        final int maxY = (int) Math.floor(y + radius);
+        final int maxZ = (int) Math.floor(z + radius);
+
+        for (int blockX = minX; blockX <= maxX; blockX++) {
+            final double dx = blockX + 0.5 - x;
+            for (int blockZ = minZ; blockZ <= maxZ; blockZ++) {
+                final double dz = blockZ + 0.5 - z;
+                for (int blockY = minY; blockY <= maxY; blockY++) {
+                    final double dy = blockY + 0.5 - y;
+                    if (dx * dx + dy * dy + dz * dz > radiusSquared || !this.occupancy.isPaintable(blockX, blockY, blockZ)) continue;
+
+                    // Buried blocks stay clean, at least one face has to be open
+                    if (this.occupancy.isSolid(blockX + 1, blockY, blockZ) && this.occupancy.isSolid(blockX - 1, blockY, blockZ)
+                            && this.occupancy.isSolid(blockX, blockY + 1, blockZ) && this.occupancy.isSolid(blockX, blockY - 1, blockZ)
+                            && this.occupancy.isSolid(blockX, blockY, blockZ + 1) && this.occupancy.isSolid(blockX, blockY, blockZ - 1)) continue;
+                    this.mark(blockX, blockY, blockZ, colour);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resend the paint of a chunk to a player that just started tracking it
+     */
+    public void resendChunk(final Player player, final int chunkX, final int chunkZ) {
+        final long chunk = PaintOverlay.chunkKey(chunkX, chunkZ);
+        if (this.chunkCounts.get(chunk) == PaintOverlay.NONE) return;
+
+        if (this.resendCount == this.resendPlayers.length) {
+            this.resendPlayers = Arrays.copyOf(this.resendPlayers, this.resendCount * 2);
+            this.resendChunks = Arrays.copyOf(this.resendChunks, this.resendCount * 2);
+        }
+        this.resendPlayers[this.resendCount] = player;
+        this.resendChunks[this.resendCount++] = chunk;
+        this.schedule();
+    }
+
+    /**
+     * Drop paint and resends that have not been sent yet
+     */
+    public void clear() {
+        this.pendingCount = 0;
+        Arrays.fill(this.resendPlayers, 0, this.resendCount, null);
+        this.resendCount = 0;
+        this.plugin.getTimingWheel().cancel(this.task);
+        this.task = TimingWheel.NO_TIMER;
+    }
+
+    /**
+     * Get the number of painted blocks
+     */
+    public int getPaintedBlocks() {
+        return this.overlay.size();
+    }
+
+    private void mark(final int x, final int y, final int z, final int colour) {
+        // Make room in the age ring before touching the overlay
+        if (this.ageSize == this.ageKeys.length) {
+            this.popOldest();
+        }
+
+        final long key = PaintOverlay.blockKey(x, y, z);
+        final int previous = this.overlay.get(key);
+        final int value = PaintOverlay.paint(colour, this.plugin.getTimingWheel().getCurrentTick() - this.startTick);
+
+        // Fresh paint in the same colour only counts as recently used
+        final boolean changed = previous == PaintOverlay.NONE || PaintOverlay.colourOf(previous) != colour;
+        if (previous == PaintOverlay.NONE) {
+            this.addToChunk(key, 1);
+        }
+        this.overlay.put(key, value);
+        this.touch(key, value);
+        if (changed) {
+            this.addPending(key);
+        }
+
+        while (this.overlay.size() > MAX_PAINTED) {
+            this.popOldest();
+        }
+        this.schedule();
+    }
+
+    /**
+     * Record a block as the most recently painted
+     */
+    private void touch(final long key, final int value) {
+        final int slot = (this.ageHead + this.ageSize++) % this.ageKeys.length;
+        this.ageKeys[slot] = key;
+        this.ageValues[slot] = value;
+    }
+
+    /**
+     * Pop the oldest entry of the age ring, reverting its block unless the entry was left behind by repainting
+     */
+    private void popOldest() {
+        final long key = this.ageKeys[this.ageHead];
+        final int value = this.ageValues[this.ageHead];
+        this.ageHead = (this.ageHead + 1) % this.ageKeys.length;
+        this.ageSize--;
+
+        if (this.overlay.get(key) != value) return;
+
+        this.overlay.remove(key);
+        this.addToChunk(key, -1);
+        this.addPending(key);
+        this.evictedTotal++;
+    }
+
+    private void addToChunk(final long key, final int delta) {
+        final long chunk = PaintOverlay.chunkOf(key);
+        final int count = Math.max(0, this.chunkCounts.get(chunk)) + delta;
+        if (count > 0) {
+            this.chunkCounts.put(chunk, count);
+        } else {
+            this.chunkCounts.remove(chunk);
+        }
+    }
+
+    private void addPending(final long key) {
+        if (this.pendingCount == this.pending.length) {
+            this.pending = Arrays.copyOf(this.pending, this.pendingCount * 2);
+        }
+        this.pending[this.pendingCount++] = key;
+    }
+
+    private void schedule() {
+        if (this.task == TimingWheel.NO_TIMER) {
+            this.task = this.plugin.getTimingWheel().scheduleRepeating(1L, 1L, this::tick);
+        }
+    }
+
+    /**
+     * Fade old paint, then send this tick's changes and resends. Runs while there is any paint.
+     */
+    private void tick() {
+        final long now = this.plugin.getTimingWheel().getCurrentTick() - this.startTick;
+        for (int faded = 0; faded < FADES_PER_TICK && this.ageSize > 0; faded++) {
+            final int value = this.ageValues[this.ageHead];
+            if (((now - PaintOverlay.tickOf(value)) & PaintOverlay.TICK_MASK) < FADE_TICKS) break;
+            this.popOldest();
+        }
+
+        if (this.pendingCount > 0) {
+            // Sorting groups the blocks of a section and puts repainted blocks next to each other
+            Arrays.sort(this.pending, 0, this.pendingCount);
+            this.sendSections(this.pending, this.pendingCount, false);
+            this.pendingCount = 0;
+        }
+
+        if (this.resendCount > 0) {
+            this.resend();
+        }
+
+        if (this.overlay.size() == 0 && this.resendCount == 0) {
+            this.plugin.getTimingWheel().cancel(this.task);
+            this.task = TimingWheel.NO_TIMER;
+        }
+    }
+
+    /**
+     * Send the paint of a batch of queued chunks, collected in one pass over the overlay
+     */
+    private void resend() {
+        this.resendBatch = Math.min(this.resendCount, RESENDS_PER_TICK);
+
+        int count = 0;
+        for (int slot = 0; slot < this.overlay.capacity(); slot++) {
+            final long key = this.overlay.keyAt(slot);
+            if (key == PaintOverlay.EMPTY || !this.isQueued(PaintOverlay.chunkOf(key))) continue;
+
+            if (count == this.resendKeys.length) {
+                this.resendKeys = Arrays.copyOf(this.resendKeys, count * 2);
+            }
+            this.resendKeys[count++] = key;
+        }
+
+        Arrays.sort(this.resendKeys, 0, count);
+        this.sendSections(this.resendKeys, count, true);
+
+        // Shift the rest of the queue to the front
+        final int remaining = this.resendCount - this.resendBatch;
+        System.arraycopy(this.resendPlayers, this.resendBatch, this.resendPlayers, 0, remaining);
+        System.arraycopy(this.resendChunks, this.resendBatch, this.resendChunks, 0, remaining);
+        Arrays.fill(this.resendPlayers, remaining, this.resendCount, null);
+        this.resendCount = remaining;
+        this.resendBatch = 0;
+    }
+
+    private boolean isQueued(final long chunk) {
+        for (int i = 0; i < this.resendBatch; i++) {
+            if (this.resendChunks[i] == chunk) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Send sorted block keys as one packet per section, painted blocks in their colour and the rest as
+     * the server has them
+     */
+    private void sendSections(final long[] keys, final int count, final boolean resend) {
+        int start = 0;
+        while (start < count) {
+            final long section = PaintOverlay.sectionOf(keys[start]);
+            int end = start + 1;
+            int unique = 1;
+            while (end < count && PaintOverlay.sectionOf(keys[end]) == section) {
+                if (keys[end] != keys[end - 1]) unique++;
+                end++;
+            }
+
+            final WrapperPlayServerMultiBlockChange.EncodedBlock[] blocks = new WrapperPlayServerMultiBlockChange.EncodedBlock[unique];
+            int written = 0;
+            for (int i = start; i < end; i++) {
+                final long key = keys[i];
+                if (i > start && key == keys[i - 1]) continue;
+                blocks[written++] = new WrapperPlayServerMultiBlockChange.EncodedBlock(this.stateOf(key),
+                        (int) (key & 15), (int) (key >> 8 & 15), (int) (key >> 4 & 15));
+            }
+
+            final long first = keys[start];
+            final WrapperPlayServerMultiBlockChange packet = new WrapperPlayServerMultiBlockChange(
+                    new Vector3i(PaintOverlay.sectionX(first), PaintOverlay.sectionY(first), PaintOverlay.sectionZ(first)), true, blocks);
+            if (resend) {
+                this.sendResend(packet, PaintOverlay.chunkOf(first));
+            } else {
+                this.send(packet);
+            }
+            start = end;
+        }
+    }
+
+    private WrappedBlockState stateOf(final long key) {
+        final int value = this.overlay.get(key);
+        if (value != PaintOverlay.NONE) return this.paintStates[PaintOverlay.colourOf(value)];
+
+        // Reverted blocks go back to what the server has
+        return SpigotConversionUtil.fromBukkitBlockData(this.world.getBlockData(
+                PaintOverlay.blockX(key), PaintOverlay.blockY(key), PaintOverlay.blockZ(key)));
+    }
+
+    /**
+     * Send a packet to every participant in the arena world, spectators included
+     */
+    private void send(final WrapperPlayServerMultiBlockChange packet) {
+        for (int playerId = 0; playerId < this.roster.size(); playerId++) {
+            final Player player = this.roster.getPlayer(playerId);
+            if (player == null || player.getWorld() != this.world) continue;
+
+            PacketEvents.getAPI().getPlayerManager().sendPacket(player, packet);
+            this.packetsSent++;
+        }
+    }
+
+    /**
+     * Send a packet to the players of the current resend batch that queued its chunk
+     */
+    private void sendResend(final WrapperPlayServerMultiBlockChange packet, final long chunk) {
+        for (int i = 0; i < this.resendBatch; i++) {
+            final Player player = this.resendPlayers[i];
+            if (this.resendChunks[i] != chunk || !player.isOnline() || player.getWorld() != this.world) continue;
+
+            PacketEvents.getAPI().getPlayerManager().sendPacket(player, packet);
+            this.packetsSent++;
+        }
+    }
+
+    private int colourOf(final int shooterId) {
+        return switch (this.roster.getTeam(shooterId)) {
+            case RED -> 0;
+            case BLUE -> 1;
+            case PLAYERS -> 2;
+            case JUGGERNAUT -> 3;
+            case FREE -> PAINTS.length - FREE_PAINTS + shooterId % FREE_PAINTS;
+        };
+    }
+}
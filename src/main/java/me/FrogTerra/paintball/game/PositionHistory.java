@@ -0,0 +1,124 @@
+package me.FrogTerra.paintball.game;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Recent hitboxes of every participant of one match, used to rewind targets for lag compensation.
+ * Each tick is a frame in a ring of {@link #CAPACITY} frames, stored in flat primitive arrays indexed by
+ * frame and roster id. Sampling interpolates between the two frames around a fractional tick and never
+ * allocates. Must only be used from the main thread.
+ */
+final class PositionHistory {
+
+    // About one second of ticks
+    static final int CAPACITY = 20;
+
+    private final int players;
+    private final long[] frameTicks = new long[CAPACITY];
+    private final double[] positionX;
+    private final double[] positionY;
+    private final double[] positionZ;
+    private final float[] halfWidths;
+    private final float[] heights;
+    private final boolean[] present;
+    private int latest = -1;
+
+    PositionHistory(final int players) {
+        this.players = players;
+        this.positionX = new double[CAPACITY * players];
+        this.positionY = new double[CAPACITY * players];
+        this.positionZ = new double[CAPACITY * players];
+        this.halfWidths = new float[CAPACITY * players];
+        this.heights = new float[CAPACITY * players];
+        this.present = new boolean[CAPACITY * players];
+        Arrays.fill(this.frameTicks, Long.MIN_VALUE);
+    }
+
+    /**
+     * Start the frame of a tick, overwriting the oldest one. Participants are absent until recorded.
+     */
+    void beginFrame(final long tick) {
+        this.latest = (int) Math.floorMod(tick, (long) CAPACITY);
+        this.frameTicks[this.latest] = tick;
+        final int offset = this.latest * this.players;
+        Arrays.fill(this.present, offset, offset + this.players, false);
+    }
+
+    /**
+     * Record a participant's hitbox in the current frame
+     */
+    void record(final int id, final double x, final double y, final double z, final double halfWidth, final double height) {
+        final int index = this.latest * this.players + id;
+        this.positionX[index] = x;
+        this.positionY[index] = y;
+        this.positionZ[index] = z;
+        this.halfWidths[index] = (float) halfWidth;
+        this.heights[index] = (float) height;
+        this.present[index] = true;
+    }
+
+    /**
+     * Get a participant's hitbox at a fractional tick, clamped to the recorded frames
+     *
+     * @return false if the participant was not recorded around that tick
+     */
+    boolean sample(final int id, final double tick, final Box out) {
+        if (this.latest < 0) return false;
+
+        final long newest = this.frameTicks[this.latest];
+        final double clamped = Math.max(newest - CAPACITY + 1, Math.min(newest, tick));
+        final long before = (long) Math.floor(clamped);
+        final int from = this.indexAt(id, before);
+        final int to = this.indexAt(id, Math.min(newest, before + 1));
+
+        // Fall back to whichever neighbouring frame has the participant
+        if (from < 0 && to < 0) return false;
+        if (from < 0 || to < 0) {
+            this.copy(from >= 0 ? from : to, out);
+            return true;
+        }
+
+        final double fraction = clamped - before;
+        final double x = this.positionX[from] + (this.positionX[to] - this.positionX[from]) * fraction;
+        final double y = this.positionY[from] + (this.positionY[to] - this.positionY[from]) * fraction;
+        final double z = this.positionZ[from] + (this.positionZ[to] - this.positionZ[from]) * fraction;
+        out.set(x, y, z, this.halfWidths[to], this.heights[to]);
+        return true;
+    }
+
+    private int indexAt(final int id, final long tick) {
+        final int frame = (int) Math.floorMod(tick, (long) CAPACITY);
+        if (this.frameTicks[frame] != tick) return -1;
+
+        final int index = frame * this.players + id;
+        return this.present[index] ? index : -1;
+    }
+
+    private void copy(final int index, final Box out) {
+        out.set(this.positionX[index], this.positionY[index], this.positionZ[index], this.halfWidths[index], this.heights[index]);
+    }
+
+    /**
+     * Mutable hitbox filled in by {@link #sample}
+     */
+    @Getter
+    static final class Box {
+        private double minX;
+        private double minY;
+        private double minZ;
+        private double maxX;
+        private double maxY;
+        private double maxZ;
+
+        private void set(final double x, final double y, final double z, final double halfWidth, final double height) {
+            this.minX = x - halfWidth;
+            this.minY = y;
+            this.minZ = z - halfWidth;
+            this.maxX = x + halfWidth;
+            this.maxY = y + height;
+            this.maxZ = z + halfWidth;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package me.FrogTerra.paintball.game;
+
+import lombok.Getter;
+import me.FrogTerra.paintball.Paintball;
+import me.FrogTerra.paintball.arena.VoxelOccupancy;
+import me.FrogTerra.paintball.utility.TimingWheel;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+/**
+ * Entity-free ballistic paintballs of one match.
+ * In-flight paintballs live in a {@link BallisticStore} and are integrated in a single pass per tick.
+ * Each step is swept against the arena's voxel occupancy and the hitboxes of living enemies in the grid
+ * cells along it, so a paintball can never tunnel through a wall or a player.
+ * Paintballs are rendered as particles only, in one pass after integration that draws at most
+ * {@link #TRAILS_PER_TICK} of them and rotates through the rest, so the packets sent per viewer stay flat
+ * however many paintballs are in flight. Must only be used from the main thread.
+ */
+public final class ProjectileSimulator {
+
+    // Blocks per tick squared
+    private static final double GRAVITY = 0.03;
+    private static final double DRAG = 0.99;
+    private static final int LIFETIME_TICKS = 100;
+    private static final int INITIAL_CAPACITY = 256;
+    // Trail particles drawn per tick, each is one packet per nearby player
+    private static final int TRAILS_PER_TICK = 48;
+
+    private final Paintball plugin;
+    private final MatchRoster roster;
+    private final SpatialGrid grid;
+    private final VoxelOccupancy occupancy;
+    private final World world;
+    private final ShotEngine shotEngine;
+
+    // In-flight paintballs, their timers are lifetimes
+    private final BallisticStore flights = new BallisticStore(INITIAL_CAPACITY);
+    private final HitBuffer hits = new HitBuffer();
+
+    // Grid query results, reused by every step
+    private final int[] candidates;
+
+    private final VoxelOccupancy.Hit blockHit = new VoxelOccupancy.Hit();
+    // Distance to the hitbox found by the last findVictim call
+    private double hitDistance;
+    private long task = TimingWheel.NO_TIMER;
+    // First paintball whose trail is drawn next tick
+    private int trailCursor = 0;
+
+    @Getter private long launchedTotal = 0L;
+    @Getter private long lastTickNanos = 0L;
+
+    public ProjectileSimulator(final Paintball plugin, final MatchRoster roster, final SpatialGrid grid,
+                               final VoxelOccupancy occupancy, final World world, final ShotEngine shotEngine) {
+        this.plugin = plugin;
+        this.roster = roster;
+        this.grid = grid;
+        this.occupancy = occupancy;
+        this.world = world;
+        this.shotEngine = shotEngine;
+        this.candidates = new int[roster.size()];
+    }
+
+    /**
+     * Launch a paintball with a velocity in blocks per tick
+     */
+    public void launch(final int ownerId, final int weaponId, final double x, final double y, final double z,
+                       final double velocityX, final double velocityY, final double velocityZ, final int damage) {
+        this.flights.add(ownerId, weaponId, damage, x, y, z, velocityX, velocityY, velocityZ, LIFETIME_TICKS);
+        this.launchedTotal++;
+
+        if (this.task == TimingWheel.NO_TIMER) {
+            this.task = this.plugin.getTimingWheel().scheduleRepeating(1L, 1L, this::tick);
+        }
+    }
+
+    /**
+     * Drop every paintball in flight
+     */
+    public void clear() {
+        this.flights.clear();
+        this.plugin.getTimingWheel().cancel(this.task);
+        this.task = TimingWheel.NO_TIMER;
+    }
+
+    /**
+     * Get the number of paintballs in flight
+     */
+    public int getCount() {
+        return this.flights.size();
+    }
+
+    private void tick() {
+        final long started = System.nanoTime();
+        final BallisticStore flights = this.flights;
+
+        int index = 0;
+        while (index < flights.size()) {
+            double vx = flights.getVelocityX(index);
+            double vy = flights.getVelocityY(index) - GRAVITY;
+            double vz = flights.getVelocityZ(index);
+            final double x = flights.getX(index);
+            final double y = flights.getY(index);
+            final double z = flights.getZ(index);
+            final int owner = flights.getOwner(index);
+            final double step = Math.sqrt(vx * vx + vy * vy + vz * vz);
+
+            // Sweep this tick's segment against walls first, players only count in front of them
+            double reach = step;
+            boolean hitWall = false;
+            if (step > 0.0 && this.occupancy != null && this.occupancy.raycast(x, y, z, vx, vy, vz, step, this.blockHit)) {
+                reach = this.blockHit.getDistance();
+                hitWall = true;
+            }
+
+            final int victim = step > 0.0 ? this.findVictim(owner, x, y, z, vx / step, vy / step, vz / step, reach) : -1;
+            if (victim >= 0) {
+                reach = this.hitDistance;
+            }
+
+            if (victim >= 0 || hitWall) {
+                final double impact = step > 0.0 ? reach / step : 0.0;
+                this.shotEngine.splat(owner, x + vx * impact, y + vy * impact, z + vz * impact);
+                if (victim >= 0) {
+                    this.hits.add(victim, owner, flights.getDamage(index), flights.getWeapon(index),
+                            flights.getTravelled(index) + (float) reach);
+                } else {
+                    this.shotEngine.paint(owner, this.blockHit);
+                }
+                flights.remove(index);
+                continue;
+            }
+
+            if (flights.expire(index)) {
+                flights.remove(index);
+                continue;
+            }
+
+            vx *= DRAG;
+            vy *= DRAG;
+            vz *= DRAG;
+            flights.move(index, x + vx, y + vy, z + vz, vx, vy, vz, step);
+            index++;
+        }
+
+        this.renderTrails();
+        this.hits.apply(this.shotEngine, CombatLog.FLAG_PROJECTILE);
+
+        if (this.flights.size() == 0) {
+            this.plugin.getTimingWheel().cancel(this.task);
+            this.task = TimingWheel.NO_TIMER;
+        }
+        this.lastTickNanos = System.nanoTime() - started;
+    }
+
+    /**
+     * Draw the trails of a window of the paintballs in flight, the window moves on every tick
+     */
+    private void renderTrails() {
+        final int count = this.flights.size();
+        if (count == 0) {
+            this.trailCursor = 0;
+            return;
+        }
+
+        final int drawn = Math.min(count, TRAILS_PER_TICK);
+        int index = this.trailCursor % count;
+        for (int i = 0; i < drawn; i++) {
+            this.world.spawnParticle(Particle.DUST, this.flights.getX(index), this.flights.getY(index), this.flights.getZ(index),
+                    1, 0.0, 0.0, 0.0, 0.0, this.shotEngine.getSplatter(this.flights.getOwner(index)));
+            if (++index == count) {
+                index = 0;
+            }
+        }
+        this.trailCursor = index;
+    }
+
+    /**
+     * Find the nearest enemy in the grid cells along a step whose hitbox it enters before maxDistance
+     *
+     * @return the roster id, or -1 if nothing was hit
+     */
+    private int findVictim(final int owner, final double x, final double y, final double z,
+                           final double directionX, final double directionY, final double directionZ, final double maxDistance) {
+        final GameTeam ownerTeam = this.roster.getTeam(owner);
+        int victim = -1;
+        double nearest = maxDistance;
+
+        final int count = this.grid.querySegment(x, z, directionX, directionZ, maxDistance, ShotEngine.HITBOX_REACH, this.candidates);
+        for (int i = 0; i < count; i++) {
+            final int target = this.candidates[i];
+            if (target == owner || (ownerTeam != GameTeam.FREE && this.roster.getTeam(target) == ownerTeam)) continue;
+
+            final Player player = this.roster.getPlayer(target);
+            if (player == null) continue;
+
+            final double targetX = this.grid.getX(target);
+            final double targetY = this.grid.getY(target);
+            final double targetZ = this.grid.getZ(target);
+            final double halfWidth = player.getWidth() / 2.0;
+            final double entry = ShotEngine.intersect(x, y, z, directionX, directionY, directionZ,
+                    targetX - halfWidth, targetY, targetZ - halfWidth,
+                    targetX + halfWidth, targetY + player.getHeight(), targetZ + halfWidth);
+            if (entry >= 0.0 && entry <= nearest) {
+                nearest = entry;
+                victim = target;
+            }
+        }
+
+        this.hitDistance = nearest;
+        return victim;
+    }
+}
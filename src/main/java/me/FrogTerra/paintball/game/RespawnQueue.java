@@ -0,0 +1,121 @@
+package me.FrogTerra.paintball.game;
+
+import me.FrogTerra.paintball.Paintball;
+import me.FrogTerra.paintball.utility.TimingWheel;
+
+/**
+ * Per-match queue of players waiting to respawn.
+ * Every gamemode uses a single respawn delay, so players become due in the order they died and a
+ * ring of roster ids is enough. One timing wheel task drains the due players each tick, at most
+ * {@link #RESPAWNS_PER_TICK} at a time, and hands them to the match as one batch.
+ * Must only be used from the main thread.
+ */
+final class RespawnQueue {
+
+    // Respawns applied per tick, the rest wait for the next tick
+    private static final int RESPAWNS_PER_TICK = 4;
+
+    private final Paintball plugin;
+    private final GameInstance game;
+
+    private final int[] queue;
+    private final long[] dueTicks;
+    private final boolean[] queued;
+    private final int[] batch = new int[RESPAWNS_PER_TICK];
+    private int head = 0;
+    private int size = 0;
+    private long task = TimingWheel.NO_TIMER;
+
+    RespawnQueue(final Paintball plugin, final GameInstance game, final int capacity) {
+        this.plugin = plugin;
+        this.game = game;
+        this.queue = new int[capacity];
+        this.dueTicks = new long[capacity];
+        this.queued = new boolean[capacity];
+    }
+
+    /**
+     * Queue a player to respawn after a delay
+     */
+    void enqueue(final int playerId, final long delayTicks) {
+        if (this.queued[playerId]) return;
+
+        final TimingWheel timingWheel = this.plugin.getTimingWheel();
+        this.queued[playerId] = true;
+        this.dueTicks[playerId] = timingWheel.getCurrentTick() + Math.max(1L, delayTicks);
+        this.queue[(this.head + this.size++) % this.queue.length] = playerId;
+
+        if (this.task == TimingWheel.NO_TIMER) {
+            this.task = timingWheel.scheduleRepeating(1L, 1L, this::tick);
+        }
+    }
+
+    /**
+     * Check if a player is waiting to respawn
+     */
+    boolean isQueued(final int playerId) {
+        return this.queued[playerId];
+    }
+
+    /**
+     * Drop a player's pending respawn, keeping the others in order
+     */
+    void remove(final int playerId) {
+        if (!this.queued[playerId]) return;
+
+        this.queued[playerId] = false;
+        int kept = 0;
+        for (int i = 0; i < this.size; i++) {
+            final int queuedId = this.queue[(this.head + i) % this.queue.length];
+            if (queuedId != playerId) {
+                this.queue[(this.head + kept++) % this.queue.length] = queuedId;
+            }
+        }
+        this.size = kept;
+    }
+
+    /**
+     * Get the ticks until a player respawns, or -1 if they are not queued
+     */
+    long getRemainingTicks(final int playerId) {
+        return this.queued[playerId] ? this.dueTicks[playerId] - this.plugin.getTimingWheel().getCurrentTick() : -1L;
+    }
+
+    /**
+     * Drop every pending respawn
+     */
+    void clear() {
+        while (this.size > 0) {
+            this.queued[this.poll()] = false;
+        }
+        this.plugin.getTimingWheel().cancel(this.task);
+        this.task = TimingWheel.NO_TIMER;
+    }
+
+    private void tick() {
+        final long now = this.plugin.getTimingWheel().getCurrentTick();
+
+        int count = 0;
+        while (this.size > 0 && count < RESPAWNS_PER_TICK && this.dueTicks[this.queue[this.head]] <= now) {
+            final int playerId = this.poll();
+            this.queued[playerId] = false;
+            this.batch[count++] = playerId;
+        }
+
+        if (this.size == 0) {
+            this.plugin.getTimingWheel().cancel(this.task);
+            this.task = TimingWheel.NO_TIMER;
+        }
+
+        if (count > 0) {
+            this.game.respawn(this.batch, count);
+        }
+    }
+
+    private int poll() {
+        final int playerId = this.queue[this.head];
+        this.head = (this.head + 1) % this.queue.length;
+        this.size--;
+        return playerId;
+    }
+}
@@ -0,0 +1,270 @@
+package me.FrogTerra.paintball.game;
+
+import lombok.Getter;
+import me.FrogTerra.paintball.Paintball;
+import me.FrogTerra.paintball.arena.VoxelOccupancy;
+import me.FrogTerra.paintball.item.WeaponDefinition;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Resolves paintball shots of one match, no projectile entity is ever spawned.
+ * Hitscan guns resolve instantly: the ray walks the arena's voxel occupancy to find the first wall and is
+ * tested against the hitboxes of living enemies; the nearest one in front of the wall takes the gun's damage.
+ * Enemies are rewound by the shooter's ping first, so a hit is judged against what the shooter saw.
+ * Guns with the projectile fire mode launch simulated paintballs instead, and grenades go to the {@link GrenadeEngine}.
+ * Range, damage, cooldown and speed come from the gun's decoded {@link WeaponDefinition}. Must only be used from the main thread.
+ */
+public final class ShotEngine {
+
+    // How far a hitbox may reach horizontally from a player's position
+    static final double HITBOX_REACH = 1.0;
+    // Longest rewind granted to a shooter, and how far a player may move per rewound tick
+    private static final int MAX_REWIND_TICKS = 10;
+    private static final double MAX_TICK_MOVEMENT = 0.5;
+
+    private final Paintball plugin;
+    private final MatchRoster roster;
+    private final MatchStateMachine stateMachine;
+    private final SpatialGrid grid;
+    private final PositionHistory history;
+    private final AmmoTracker ammo;
+    private final CombatLog combatLog;
+    private final VoxelOccupancy occupancy;
+    private final World world;
+
+    private final long[] nextShotTicks;
+    private final Map<GameTeam, Particle.DustOptions> splatters = new EnumMap<>(GameTeam.class);
+    @Getter private final ProjectileSimulator projectileSimulator;
+    @Getter private final PaintRenderer paintRenderer;
+    @Getter private final GrenadeEngine grenadeEngine;
+
+    // Scratch state reused by every shot
+    private final VoxelOccupancy.Hit blockHit = new VoxelOccupancy.Hit();
+    private final Location origin = new Location(null, 0, 0, 0);
+    private final int[] candidates;
+    private final PositionHistory.Box box = new PositionHistory.Box();
+    // Distance to the hitbox found by the last findTarget call
+    private double hitDistance;
+
+    public ShotEngine(final Paintball plugin, final MatchRoster roster, final MatchStateMachine stateMachine, final SpatialGrid grid,
+                      final PositionHistory history, final AmmoTracker ammo, final CombatLog combatLog, final VoxelOccupancy occupancy, final World world) {
+        this.plugin = plugin;
+        this.roster = roster;
+        this.stateMachine = stateMachine;
+        this.grid = grid;
+        this.history = history;
+        this.ammo = ammo;
+        this.combatLog = combatLog;
+        this.occupancy = occupancy;
+        this.world = world;
+
+        this.nextShotTicks = new long[roster.size()];
+        this.candidates = new int[roster.size()];
+        for (final GameTeam team : GameTeam.values()) {
+            this.splatters.put(team, new Particle.DustOptions(KitTemplates.getTeamArmorColor(team), 1.5f));
+        }
+        this.paintRenderer = new PaintRenderer(plugin, roster, occupancy, world);
+        this.projectileSimulator = new ProjectileSimulator(plugin, roster, grid, occupancy, world, this);
+        this.grenadeEngine = new GrenadeEngine(plugin, roster, grid, occupancy, world, this);
+    }
+
+    /**
+     * Fire a gun for a participant, ignoring the shot while the gun is cooling down or the magazine is empty
+     *
+     * @return true if a shot was fired
+     */
+    public boolean fire(final int shooterId, final Player shooter, final WeaponDefinition weapon) {
+        // Grenades use no paintballs and have their own cooldown
+        if (weapon.fireMode() == WeaponDefinition.FireMode.GRENADE) return this.grenadeEngine.throwGrenade(shooterId, shooter, weapon);
+
+        final long now = this.plugin.getTimingWheel().getCurrentTick();
+        if (now < this.nextShotTicks[shooterId] || !this.ammo.consume(shooterId)) return false;
+
+        final int range = weapon.range();
+        final int damage = weapon.damage();
+        this.nextShotTicks[shooterId] = now + weapon.cooldownTicks();
+        shooter.setCooldown(weapon.material(), weapon.cooldownTicks());
+        this.roster.addShot(shooterId);
+
+        // Eye position and look direction without allocating
+        shooter.getLocation(this.origin);
+        final double startX = this.origin.getX();
+        final double startY = this.origin.getY() + shooter.getEyeHeight();
+        final double startZ = this.origin.getZ();
+        final double yaw = Math.toRadians(this.origin.getYaw());
+        final double pitch = Math.toRadians(this.origin.getPitch());
+        final double directionX = -Math.sin(yaw) * Math.cos(pitch);
+        final double directionY = -Math.sin(pitch);
+        final double directionZ = Math.cos(yaw) * Math.cos(pitch);
+
+        if (weapon.fireMode() == WeaponDefinition.FireMode.PROJECTILE) {
+            final double speed = weapon.speed() / 20.0;
+            this.projectileSimulator.launch(shooterId, weapon.id(), startX, startY, startZ,
+                    directionX * speed, directionY * speed, directionZ * speed, damage);
+            return true;
+        }
+
+        double distance = range;
+        final boolean hitWall = this.occupancy != null
+                && this.occupancy.raycast(startX, startY, startZ, directionX, directionY, directionZ, range, this.blockHit);
+        if (hitWall) {
+            distance = this.blockHit.getDistance();
+        }
+
+        // Round trip time in ticks approximates how far behind the shooter's view of the match is
+        final double rewind = Math.min(MAX_REWIND_TICKS, Math.max(0, shooter.getPing()) / 50.0);
+        final int victimId = this.findTarget(shooterId, startX, startY, startZ, directionX, directionY, directionZ, distance, now - rewind);
+        if (victimId >= 0) {
+            distance = this.hitDistance;
+        }
+
+        this.splat(shooterId, startX + directionX * distance, startY + directionY * distance, startZ + directionZ * distance);
+
+        if (victimId >= 0) {
+            this.applyHit(shooterId, victimId, damage, weapon.id(), distance, rewind > 0.0 ? CombatLog.FLAG_REWOUND : 0);
+        } else if (hitWall) {
+            this.paint(shooterId, this.blockHit);
+        }
+        return true;
+    }
+
+    /**
+     * Record a hit in the stats and combat log, then damage the victim.
+     * Damage goes through the normal damage event so lethal hits become eliminations. Hits that land
+     * after a lethal one ended the match are dropped.
+     */
+    void applyHit(final int shooterId, final int victimId, final int damage, final int weaponId, final double distance, final int flags) {
+        if (!this.stateMachine.is(GameState.ACTIVE)) return;
+
+        final Player victim = this.roster.getPlayer(victimId);
+        if (victim == null || !this.roster.isAlive(victimId)) return;
+
+        this.roster.addHit(shooterId);
+        this.combatLog.record(this.plugin.getTimingWheel().getCurrentTick(), shooterId, victimId, weaponId, distance,
+                CombatLog.FLAG_HIT | flags);
+        final Player shooter = this.roster.getPlayer(shooterId);
+        if (shooter != null) {
+            victim.damage(damage, shooter);
+        } else {
+            victim.damage(damage);
+        }
+    }
+
+    /**
+     * Show a paint impact in the shooter's team colour
+     */
+    void splat(final int shooterId, final double x, final double y, final double z) {
+        this.world.spawnParticle(Particle.DUST, x, y, z, 6, 0.15, 0.15, 0.15, 0.0, this.getSplatter(shooterId));
+    }
+
+    /**
+     * Paint the wall a paintball hit in the shooter's colour
+     */
+    void paint(final int shooterId, final VoxelOccupancy.Hit hit) {
+        this.paintRenderer.paint(shooterId, hit.getBlockX(), hit.getBlockY(), hit.getBlockZ(),
+                hit.getNormalX(), hit.getNormalY(), hit.getNormalZ());
+    }
+
+    /**
+     * Get the paint particle of a shooter's team
+     */
+    Particle.DustOptions getSplatter(final int shooterId) {
+        return this.splatters.get(this.roster.getTeam(shooterId));
+    }
+
+    /**
+     * Drop every paintball and grenade in flight and any paint not sent yet
+     */
+    public void clear() {
+        this.projectileSimulator.clear();
+        this.grenadeEngine.clear();
+        this.paintRenderer.clear();
+    }
+
+    /**
+     * Find the nearest living enemy whose hitbox, as it was at the given tick, the ray enters before maxDistance.
+     * Only participants in the grid cells along the ray, widened by how far they could have moved since, are tested.
+     *
+     * @return the roster id, or -1 if nothing was hit
+     */
+    private int findTarget(final int shooterId, final double startX, final double startY, final double startZ,
+                           final double directionX, final double directionY, final double directionZ,
+                           final double maxDistance, final double viewTick) {
+        final GameTeam team = this.roster.getTeam(shooterId);
+        int nearest = -1;
+        double nearestDistance = maxDistance;
+
+        final double now = this.plugin.getTimingWheel().getCurrentTick();
+        final double padding = HITBOX_REACH + Math.max(0.0, now - viewTick) * MAX_TICK_MOVEMENT;
+        final int count = this.grid.querySegment(startX, startZ, directionX, directionZ, maxDistance, padding, this.candidates);
+        for (int i = 0; i < count; i++) {
+            final int playerId = this.candidates[i];
+            if (playerId == shooterId || !this.roster.isAlive(playerId)) continue;
+            if (team != GameTeam.FREE && this.roster.getTeam(playerId) == team) continue;
+
+            if (!this.history.sample(playerId, viewTick, this.box)) continue;
+
+            final double entry = intersect(startX, startY, startZ, directionX, directionY, directionZ,
+                    this.box.getMinX(), this.box.getMinY(), this.box.getMinZ(), this.box.getMaxX(), this.box.getMaxY(), this.box.getMaxZ());
+
+            if (entry >= 0.0 && entry < nearestDistance) {
+                nearest = playerId;
+                nearestDistance = entry;
+            }
+        }
+
+        this.hitDistance = nearestDistance;
+        return nearest;
+    }
+
+    /**
+     * Slab test of a ray against an axis aligned box
+     *
+     * @return the distance at which the ray enters the box, or -1 if it misses
+     */
+    static double intersect(final double startX, final double startY, final double startZ,
+                            final double directionX, final double directionY, final double directionZ,
+                            final double minX, final double minY, final double minZ,
+                            final double maxX, final double maxY, final double maxZ) {
+        double near = 0.0;
+        double far = Double.POSITIVE_INFINITY;
+
+        // X slab
+        if (directionX != 0.0) {
+            final double t1 = (minX - startX) / directionX;
+            final double t2 = (maxX - startX) / directionX;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        } else if (startX < minX || startX > maxX) {
+            return -1.0;
+        }
+
+        // Y slab
+        if (directionY != 0.0) {
+            final double t1 = (minY - startY) / directionY;
+            final double t2 = (maxY - startY) / directionY;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        } else if (startY < minY || startY > maxY) {
+            return -1.0;
+        }
+
+        // Z slab
+        if (directionZ != 0.0) {
+            final double t1 = (minZ - startZ) / directionZ;
+            final double t2 = (maxZ - startZ) / directionZ;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        } else if (startZ < minZ || startZ > maxZ) {
+            return -1.0;
+        }
+
+        return near <= far ? near : -1.0;
+    }
+}
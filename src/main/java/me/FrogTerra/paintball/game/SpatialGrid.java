@@ -0,0 +1,296 @@
+package me.FrogTerra.paintball.game;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid of participant positions for one match, shared by every proximity and hit query.
+ * Cells are columns of {@link #CELL_SIZE} blocks keyed by their packed x/z coordinates in an
+ * open-addressing map from long to a list of roster ids. A player is only moved between lists when
+ * they cross a cell boundary. Queries write roster ids into a caller supplied buffer and never allocate.
+ * Must only be used from the main thread.
+ */
+public final class SpatialGrid {
+
+    private static final int CELL_SHIFT = 3;
+    public static final int CELL_SIZE = 1 << CELL_SHIFT;
+    // Distance from a cell's center to its corner
+    private static final double CELL_HALF_DIAGONAL = CELL_SIZE * Math.sqrt(2.0) / 2.0;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int NONE = -1;
+
+    // Open-addressing table of cells, empty cells are kept for reuse
+    private long[] keys = new long[64];
+    private int[][] members = new int[64][];
+    private int[] memberCounts = new int[64];
+    private int cellCount = 0;
+
+    private final double[] positionX;
+    private final double[] positionY;
+    private final double[] positionZ;
+    private final int[] cells;
+    private final int[] slots;
+
+    public SpatialGrid(final int capacity) {
+        Arrays.fill(this.keys, EMPTY);
+        this.positionX = new double[capacity];
+        this.positionY = new double[capacity];
+        this.positionZ = new double[capacity];
+        this.cells = new int[capacity];
+        this.slots = new int[capacity];
+        Arrays.fill(this.cells, NONE);
+    }
+
+    /**
+     * Move a participant, touching the cell lists only when they changed cell
+     */
+    public void update(final int id, final double x, final double y, final double z) {
+        this.positionX[id] = x;
+        this.positionY[id] = y;
+        this.positionZ[id] = z;
+
+        final long key = cellKey(cellOf(x), cellOf(z));
+        final int current = this.cells[id];
+        if (current != NONE && this.keys[current] == key) return;
+
+        if (current != NONE) {
+            this.removeFromCell(id);
+        }
+        this.addToCell(id, this.findOrCreate(key));
+    }
+
+    /**
+     * Drop a participant from the grid, e.g. while they are dead or offline
+     */
+    public void remove(final int id) {
+        if (this.cells[id] != NONE) {
+            this.removeFromCell(id);
+        }
+    }
+
+    /**
+     * Check if a participant is in the grid
+     */
+    public boolean contains(final int id) {
+        return this.cells[id] != NONE;
+    }
+
+    public double getX(final int id) {
+        return this.positionX[id];
+    }
+
+    public double getY(final int id) {
+        return this.positionY[id];
+    }
+
+    public double getZ(final int id) {
+        return this.positionZ[id];
+    }
+
+    /**
+     * Find participants within a radius of a point
+     *
+     * @return the number of ids written to the buffer
+     */
+    public int queryRadius(final double x, final double y, final double z, final double radius, final int[] out) {
+        final double radiusSquared = radius * radius;
+        int count = 0;
+        for (int cellX = cellOf(x - radius); cellX <= cellOf(x + radius); cellX++) {
+            for (int cellZ = cellOf(z - radius); cellZ <= cellOf(z + radius); cellZ++) {
+                final int cell = this.find(cellKey(cellX, cellZ));
+                if (cell == NONE) continue;
+
+                final int[] list = this.members[cell];
+                for (int i = 0; i < this.memberCounts[cell] && count < out.length; i++) {
+                    final int id = list[i];
+                    final double dx = this.positionX[id] - x;
+                    final double dy = this.positionY[id] - y;
+                    final double dz = this.positionZ[id] - z;
+                    if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                        out[count++] = id;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Find participants whose position lies inside a box
+     *
+     * @return the number of ids written to the buffer
+     */
+    public int queryBox(final double minX, final double minY, final double minZ,
+                        final double maxX, final double maxY, final double maxZ, final int[] out) {
+        int count = 0;
+        for (int cellX = cellOf(minX); cellX <= cellOf(maxX); cellX++) {
+            for (int cellZ = cellOf(minZ); cellZ <= cellOf(maxZ); cellZ++) {
+                final int cell = this.find(cellKey(cellX, cellZ));
+                if (cell == NONE) continue;
+
+                final int[] list = this.members[cell];
+                for (int i = 0; i < this.memberCounts[cell] && count < out.length; i++) {
+                    final int id = list[i];
+                    final double px = this.positionX[id];
+                    final double py = this.positionY[id];
+                    final double pz = this.positionZ[id];
+                    if (px >= minX && px <= maxX && py >= minY && py <= maxY && pz >= minZ && pz <= maxZ) {
+                        out[count++] = id;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Find participants that may be touched by a segment, given how far their hitbox reaches
+     * from their position horizontally. Only the horizontal part of the normalized direction is
+     * needed. Candidates still need an exact hitbox test.
+     *
+     * @return the number of ids written to the buffer
+     */
+    public int querySegment(final double startX, final double startZ, final double directionX, final double directionZ,
+                            final double length, final double padding, final int[] out) {
+        final double endX = startX + directionX * length;
+        final double endZ = startZ + directionZ * length;
+        final double reach = CELL_HALF_DIAGONAL + padding;
+
+        int count = 0;
+        for (int cellX = cellOf(Math.min(startX, endX) - padding); cellX <= cellOf(Math.max(startX, endX) + padding); cellX++) {
+            for (int cellZ = cellOf(Math.min(startZ, endZ) - padding); cellZ <= cellOf(Math.max(startZ, endZ) + padding); cellZ++) {
+                // Skip cells of the bounding box the segment passes nowhere near
+                final double centerX = (cellX << CELL_SHIFT) + CELL_SIZE / 2.0;
+                final double centerZ = (cellZ << CELL_SHIFT) + CELL_SIZE / 2.0;
+                if (segmentDistanceSquared(startX, startZ, directionX, directionZ, length, centerX, centerZ) > reach * reach) continue;
+
+                final int cell = this.find(cellKey(cellX, cellZ));
+                if (cell == NONE) continue;
+
+                final int[] list = this.members[cell];
+                for (int i = 0; i < this.memberCounts[cell] && count < out.length; i++) {
+                    out[count++] = list[i];
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get the number of cells that have been occupied at some point
+     */
+    public int getCellCount() {
+        return this.cellCount;
+    }
+
+    private void addToCell(final int id, final int cell) {
+        int[] list = this.members[cell];
+        if (list == null) {
+            list = new int[4];
+            this.members[cell] = list;
+        } else if (this.memberCounts[cell] == list.length) {
+            list = Arrays.copyOf(list, list.length * 2);
+            this.members[cell] = list;
+        }
+
+        final int slot = this.memberCounts[cell]++;
+        list[slot] = id;
+        this.cells[id] = cell;
+        this.slots[id] = slot;
+    }
+
+    private void removeFromCell(final int id) {
+        final int cell = this.cells[id];
+        final int slot = this.slots[id];
+        final int last = --this.memberCounts[cell];
+        final int[] list = this.members[cell];
+
+        // Swap the last member into the freed slot
+        if (slot != last) {
+            final int moved = list[last];
+            list[slot] = moved;
+            this.slots[moved] = slot;
+        }
+        this.cells[id] = NONE;
+    }
+
+    private int find(final long key) {
+        final int mask = this.keys.length - 1;
+        for (int index = mix(key) & mask; ; index = (index + 1) & mask) {
+            if (this.keys[index] == key) return index;
+            if (this.keys[index] == EMPTY) return NONE;
+        }
+    }
+
+    private int findOrCreate(final long key) {
+        final int existing = this.find(key);
+        if (existing != NONE) return existing;
+
+        if ((this.cellCount + 1) * 2 > this.keys.length) {
+            this.rehash();
+        }
+
+        final int mask = this.keys.length - 1;
+        int index = mix(key) & mask;
+        while (this.keys[index] != EMPTY) {
+            index = (index + 1) & mask;
+        }
+        this.keys[index] = key;
+        this.cellCount++;
+        return index;
+    }
+
+    /**
+     * Double the table, members keep their lists but move to new cell indexes
+     */
+    private void rehash() {
+        final long[] oldKeys = this.keys;
+        final int[][] oldMembers = this.members;
+        final int[] oldCounts = this.memberCounts;
+
+        this.keys = new long[oldKeys.length * 2];
+        this.members = new int[oldKeys.length * 2][];
+        this.memberCounts = new int[oldKeys.length * 2];
+        Arrays.fill(this.keys, EMPTY);
+
+        final int mask = this.keys.length - 1;
+        for (int old = 0; old < oldKeys.length; old++) {
+            if (oldKeys[old] == EMPTY) continue;
+
+            int index = mix(oldKeys[old]) & mask;
+            while (this.keys[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            this.keys[index] = oldKeys[old];
+            this.members[index] = oldMembers[old];
+            this.memberCounts[index] = oldCounts[old];
+            for (int i = 0; i < oldCounts[old]; i++) {
+                this.cells[oldMembers[old][i]] = index;
+            }
+        }
+    }
+
+    private static double segmentDistanceSquared(final double startX, final double startZ, final double directionX, final double directionZ,
+                                                 final double length, final double pointX, final double pointZ) {
+        // Project onto the horizontal part of the segment, which is shorter than the segment itself
+        final double horizontal = directionX * directionX + directionZ * directionZ;
+        final double projected = horizontal > 0.0 ? ((pointX - startX) * directionX + (pointZ - startZ) * directionZ) / horizontal : 0.0;
+        final double along = Math.max(0.0, Math.min(length, projected));
+        final double dx = startX + directionX * along - pointX;
+        final double dz = startZ + directionZ * along - pointZ;
+        return dx * dx + dz * dz;
+    }
+
+    private static int cellOf(final double coordinate) {
+        return (int) Math.floor(coordinate) >> CELL_SHIFT;
+    }
+
+    private static long cellKey(final int cellX, final int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private static int mix(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,121 @@
+package me.FrogTerra.paintball.game;
+
+import org.bukkit.Location;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Picks spawn points away from living enemies and recent deaths.
+ * Enemies are looked up in the match's {@link SpatialGrid}, so scoring a spawn only visits
+ * the cells around it instead of every player. Must only be used from the main thread.
+ */
+public final class SpawnSelector {
+
+    // Enemies further than this do not lower a spawn's score
+    private static final double SAFE_RADIUS = 32.0;
+    // Deaths within this radius and age make a spawn less attractive
+    private static final double DEATH_RADIUS = 8.0;
+    private static final long DEATH_MEMORY_TICKS = 200L;
+    private static final double DEATH_PENALTY = 8.0;
+    private static final int DEATH_CAPACITY = 32;
+    // Scores closer than this are treated as ties
+    private static final double TIE_EPSILON = 0.5;
+
+    private final MatchRoster roster;
+    private final SpatialGrid grid;
+    private final SplittableRandom random;
+    private final int[] neighbours;
+
+    // Ring buffer of recent deaths
+    private final double[] deathX = new double[DEATH_CAPACITY];
+    private final double[] deathZ = new double[DEATH_CAPACITY];
+    private final long[] deathTick = new long[DEATH_CAPACITY];
+    private int deathCount = 0;
+    private int deathHead = 0;
+
+    public SpawnSelector(final MatchRoster roster, final SpatialGrid grid, final long seed) {
+        this.roster = roster;
+        this.grid = grid;
+        this.random = new SplittableRandom(seed);
+        this.neighbours = new int[roster.size()];
+    }
+
+    /**
+     * Remember where a player died
+     */
+    public void recordDeath(final double x, final double z, final long tick) {
+        this.deathX[this.deathHead] = x;
+        this.deathZ[this.deathHead] = z;
+        this.deathTick[this.deathHead] = tick;
+        this.deathHead = (this.deathHead + 1) % DEATH_CAPACITY;
+        this.deathCount = Math.min(this.deathCount + 1, DEATH_CAPACITY);
+    }
+
+    /**
+     * Pick the candidate furthest from living enemies and recent deaths, ties broken at random.
+     * The chosen spawn is put in the grid as the player's position straight away.
+     *
+     * @return the spawn, or null if there are no candidates
+     */
+    public Location select(final int playerId, final List<Location> candidates, final long tick) {
+        if (candidates.isEmpty()) return null;
+
+        Location best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        int ties = 0;
+
+        for (final Location candidate : candidates) {
+            final double score = this.score(playerId, candidate.getX(), candidate.getY(), candidate.getZ(), tick);
+            if (score > bestScore + TIE_EPSILON) {
+                best = candidate;
+                bestScore = score;
+                ties = 1;
+            } else if (score >= bestScore - TIE_EPSILON && this.random.nextInt(++ties) == 0) {
+                // Reservoir sampling keeps every tied spawn equally likely
+                best = candidate;
+            }
+        }
+
+        this.grid.update(playerId, best.getX(), best.getY(), best.getZ());
+        return best;
+    }
+
+    private double score(final int playerId, final double x, final double y, final double z, final long tick) {
+        double score = this.nearestEnemyDistance(playerId, x, y, z);
+
+        for (int i = 0; i < this.deathCount; i++) {
+            if (tick - this.deathTick[i] > DEATH_MEMORY_TICKS) continue;
+            final double dx = this.deathX[i] - x;
+            final double dz = this.deathZ[i] - z;
+            if (dx * dx + dz * dz <= DEATH_RADIUS * DEATH_RADIUS) {
+                score -= DEATH_PENALTY;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Get the distance to the nearest living enemy, capped at the safe radius
+     */
+    private double nearestEnemyDistance(final int playerId, final double x, final double y, final double z) {
+        final GameTeam team = this.roster.getTeam(playerId);
+        final int count = this.grid.queryRadius(x, y, z, SAFE_RADIUS, this.neighbours);
+
+        double nearest = SAFE_RADIUS * SAFE_RADIUS;
+        for (int i = 0; i < count; i++) {
+            final int other = this.neighbours[i];
+            if (other == playerId || !this.isEnemy(team, this.roster.getTeam(other))) continue;
+
+            final double dx = this.grid.getX(other) - x;
+            final double dy = this.grid.getY(other) - y;
+            final double dz = this.grid.getZ(other) - z;
+            nearest = Math.min(nearest, dx * dx + dy * dy + dz * dz);
+        }
+        return Math.sqrt(nearest);
+    }
+
+    private boolean isEnemy(final GameTeam team, final GameTeam other) {
+        return team == GameTeam.FREE || team != other;
+    }
+}
@@ -96,11 +96,11 @@ public class ArenaManagementGUI extends GUI {
                 .setLore(
                         "<gray>Configure team and flag spawn locations",
                         "",
-                        "<red>Red Spawns: <white>" + this.arena.getRedSpawns().size(),
-                        "<blue>Blue Spawns: <white>" + this.arena.getBlueSpawns().size(),
-                        "<white>FFA Spawns: <white>" + this.arena.getFreeForAllSpawns().size(),
-                        "<gold>Red Flags: <white>" + this.arena.getRedFlagSpawns().size(),
-                        "<aqua>Blue Flags: <white>" + this.arena.getBlueFlagSpawns().size(),
+                        "<red>Red Spawns: <white>" + this.arena.getSpawnCount(Arena.SpawnType.RED_SPAWN),
+                        "<blue>Blue Spawns: <white>" + this.arena.getSpawnCount(Arena.SpawnType.BLUE_SPAWN),
+                        "<white>FFA Spawns: <white>" + this.arena.getSpawnCount(Arena.SpawnType.FREE_FOR_ALL_SPAWN),
+                        "<gold>Red Flags: <white>" + this.arena.getSpawnCount(Arena.SpawnType.RED_FLAG_SPAWN),
+                        "<aqua>Blue Flags: <white>" + this.arena.getSpawnCount(Arena.SpawnType.BLUE_FLAG_SPAWN),
                         "",
                         "<yellow>Click to enter editing mode"
                 )
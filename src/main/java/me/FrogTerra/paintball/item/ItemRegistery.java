@@ -16,23 +16,36 @@ public final class ItemRegistery {
 
     private final Paintball plugin;
     private final ConcurrentMap<String, ItemStack> registeredItems;
+    private final WeaponRegistry weaponRegistry;
 
     public ItemRegistery(Paintball plugin) {
         this.plugin = plugin;
         this.registeredItems = new ConcurrentHashMap<>();
+        this.weaponRegistry = new WeaponRegistry(plugin);
         this.registerDefaultItems();
     }
 
     /**
      * Registers a custom item with a unique identifier.
+     * Weapons are decoded into the weapon registry and stamped with their weapon id.
      * @param identifier The unique identifier for the item
      * @param itemStack The ItemStack to register
      */
     public void registerItem(@NonNull final String identifier, @NonNull final ItemStack itemStack) {
-        this.registeredItems.put(identifier.toLowerCase(), itemStack.clone());
+        final ItemStack registered = itemStack.clone();
+        this.weaponRegistry.register(identifier.toLowerCase(), registered);
+        this.registeredItems.put(identifier.toLowerCase(), registered);
         this.plugin.getLogger().info("Registered custom item: " + identifier);
     }
 
+    /**
+     * Gets the decoded definitions of every registered weapon.
+     * @return The weapon registry
+     */
+    public WeaponRegistry getWeaponRegistry() {
+        return this.weaponRegistry;
+    }
+
     /**
      * Gets a registered custom item by its identifier.
      * @param identifier The unique identifier
@@ -96,10 +109,64 @@ public final class ItemRegistery {
                 .setPersistentData("ammo_type", "paintball")
                 .setPersistentData("damage", 2)
                 .setPersistentData("range", 90)
+                .setPersistentData("fire_mode", "hitscan")
                 .build();
 
         this.registerItem("paintball_gun", paintballGun);
 
+        // Paintball Launcher - Lobs simulated paintballs that drop and take time to travel
+        final ItemStack paintballLauncher = new ItemCreator(Material.GOLDEN_HOE)
+                .setDisplayName("<gradient:#ffa502:#ff6348><bold>Paintball Launcher</bold></gradient>")
+                .setLore(
+                        "<gray>A heavy marker that lobs paintballs in an arc",
+                        "<gray>",
+                        "<yellow>✦ <green>Paintballs drop over distance",
+                        "<yellow>✦ <blue>Requires paintball ammunition",
+                        "<yellow>✦ <purple>Right-click to shoot",
+                        "<gray>",
+                        "<italic><aqua>\"Aim high, splat low!\""
+                )
+                .setUnbreakable(true)
+                .setFireResistant(true)
+                .setRarity(ItemRarity.RARE)
+                .setPersistentData("cooldown_ticks", 14)
+                .setPersistentData("cooldown_group", "paintball_weapons")
+                .addItemFlags(ItemFlag.HIDE_ATTRIBUTES)
+                .setPersistentData("custom_weapon", "paintball_launcher")
+                .setPersistentData("weapon_type", "ranged")
+                .setPersistentData("ammo_type", "paintball")
+                .setPersistentData("damage", 3)
+                .setPersistentData("fire_mode", "projectile")
+                .setPersistentData("speed", 50)
+                .build();
+
+        this.registerItem("paintball_launcher", paintballLauncher);
+
+        // Paint Grenade - Thrown in an arc, bursts on impact and paints everything around it
+        final ItemStack paintGrenade = new ItemCreator(Material.FIREWORK_STAR)
+                .setDisplayName("<gradient:#7bed9f:#70a1ff><bold>Paint Grenade</bold></gradient>")
+                .setLore(
+                        "<gray>A pressurised paint shell that bursts on impact",
+                        "<gray>",
+                        "<yellow>✦ <green>Splashes every enemy in the blast",
+                        "<yellow>✦ <blue>Walls block the splash",
+                        "<yellow>✦ <purple>Right-click to throw",
+                        "<gray>",
+                        "<italic><aqua>\"Duck and cover!\""
+                )
+                .setRarity(ItemRarity.RARE)
+                .setPersistentData("cooldown_ticks", 400)
+                .addItemFlags(ItemFlag.HIDE_ATTRIBUTES)
+                .setPersistentData("custom_weapon", "paint_grenade")
+                .setPersistentData("weapon_type", "throwable")
+                .setPersistentData("damage", 6)
+                .setPersistentData("range", 4)
+                .setPersistentData("fire_mode", "grenade")
+                .setPersistentData("speed", 24)
+                .build();
+
+        this.registerItem("paint_grenade", paintGrenade);
+
         // Paintball - Ammunition for the paintball gun
         final ItemStack paintball = new ItemCreator(Material.SNOWBALL)
                 .setDisplayName("<gradient:#ff6b6b:#4ecdc4><bold>Paintball</bold></gradient>")
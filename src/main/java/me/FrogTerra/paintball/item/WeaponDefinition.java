@@ -0,0 +1,20 @@
+package me.FrogTerra.paintball.item;
+
+import org.bukkit.Material;
+
+/**
+ * Stats of a registered weapon, decoded once from the item's persistent data
+ *
+ * @param id            dense id stored on every stack of the weapon
+ * @param range         reach in blocks, or blast radius for grenades
+ * @param speed         paintball or throw speed in blocks per second, not used by hitscan weapons
+ */
+public record WeaponDefinition(int id, String identifier, Material material, int damage, int range,
+                               int cooldownTicks, FireMode fireMode, int speed, String ammoType) {
+
+    public enum FireMode {
+        HITSCAN,
+        PROJECTILE,
+        GRENADE
+    }
+}
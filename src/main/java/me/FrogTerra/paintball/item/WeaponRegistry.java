@@ -0,0 +1,116 @@
+package me.FrogTerra.paintball.item;
+
+import me.FrogTerra.paintball.Paintball;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.Arrays;
+
+/**
+ * Weapon definitions of every registered custom weapon.
+ * A weapon's stats are decoded from its persistent data once when it is registered and the stack is
+ * stamped with a dense weapon id, so resolving the weapon in hand is one int read and an array index.
+ */
+public final class WeaponRegistry {
+
+    private static final int DEFAULT_RANGE = 90;
+    private static final int DEFAULT_DAMAGE = 2;
+    private static final int DEFAULT_COOLDOWN = 10;
+    private static final int DEFAULT_SPEED = 60;
+
+    private final NamespacedKey weaponIdKey;
+    private final NamespacedKey weaponKey;
+    private final NamespacedKey rangeKey;
+    private final NamespacedKey damageKey;
+    private final NamespacedKey cooldownKey;
+    private final NamespacedKey fireModeKey;
+    private final NamespacedKey speedKey;
+    private final NamespacedKey ammoTypeKey;
+
+    private volatile WeaponDefinition[] definitions = new WeaponDefinition[0];
+
+    WeaponRegistry(final Paintball plugin) {
+        this.weaponIdKey = new NamespacedKey(plugin, "weapon_id");
+        this.weaponKey = new NamespacedKey(plugin, "custom_weapon");
+        this.rangeKey = new NamespacedKey(plugin, "range");
+        this.damageKey = new NamespacedKey(plugin, "damage");
+        this.cooldownKey = new NamespacedKey(plugin, "cooldown_ticks");
+        this.fireModeKey = new NamespacedKey(plugin, "fire_mode");
+        this.speedKey = new NamespacedKey(plugin, "speed");
+        this.ammoTypeKey = new NamespacedKey(plugin, "ammo_type");
+    }
+
+    /**
+     * Decode a custom item if it is a weapon and stamp its weapon id on the stack
+     *
+     * @return the definition, or null if the item is not a weapon
+     */
+    synchronized WeaponDefinition register(final String identifier, final ItemStack itemStack) {
+        final ItemMeta meta = itemStack.getItemMeta();
+        if (meta == null) return null;
+
+        final PersistentDataContainer data = meta.getPersistentDataContainer();
+        if (!data.has(this.weaponKey, PersistentDataType.STRING)) return null;
+
+        // Re-registering an identifier keeps its id so stacks already handed out stay valid
+        int id = this.definitions.length;
+        for (final WeaponDefinition definition : this.definitions) {
+            if (definition.identifier().equals(identifier)) {
+                id = definition.id();
+                break;
+            }
+        }
+
+        final WeaponDefinition definition = new WeaponDefinition(id, identifier, itemStack.getType(),
+                data.getOrDefault(this.damageKey, PersistentDataType.INTEGER, DEFAULT_DAMAGE),
+                data.getOrDefault(this.rangeKey, PersistentDataType.INTEGER, DEFAULT_RANGE),
+                data.getOrDefault(this.cooldownKey, PersistentDataType.INTEGER, DEFAULT_COOLDOWN),
+                decodeFireMode(data.get(this.fireModeKey, PersistentDataType.STRING)),
+                data.getOrDefault(this.speedKey, PersistentDataType.INTEGER, DEFAULT_SPEED),
+                data.get(this.ammoTypeKey, PersistentDataType.STRING));
+
+        data.set(this.weaponIdKey, PersistentDataType.INTEGER, id);
+        itemStack.setItemMeta(meta);
+
+        // Copy on write, lookups never lock
+        final WeaponDefinition[] updated = Arrays.copyOf(this.definitions, Math.max(this.definitions.length, id + 1));
+        updated[id] = definition;
+        this.definitions = updated;
+        return definition;
+    }
+
+    /**
+     * Get the weapon a stack is, reading only its weapon id
+     *
+     * @return the definition, or null if the stack is not a registered weapon
+     */
+    public WeaponDefinition get(final ItemStack itemStack) {
+        if (itemStack == null || itemStack.isEmpty()) return null;
+
+        final Integer id = itemStack.getPersistentDataContainer().get(this.weaponIdKey, PersistentDataType.INTEGER);
+        return id != null ? this.get(id) : null;
+    }
+
+    /**
+     * Get a weapon by id
+     *
+     * @return the definition, or null if the id is unknown
+     */
+    public WeaponDefinition get(final int id) {
+        final WeaponDefinition[] definitions = this.definitions;
+        return id >= 0 && id < definitions.length ? definitions[id] : null;
+    }
+
+    private static WeaponDefinition.FireMode decodeFireMode(final String fireMode) {
+        if (fireMode == null) return WeaponDefinition.FireMode.HITSCAN;
+
+        return switch (fireMode) {
+            case "projectile" -> WeaponDefinition.FireMode.PROJECTILE;
+            case "grenade" -> WeaponDefinition.FireMode.GRENADE;
+            default -> WeaponDefinition.FireMode.HITSCAN;
+        };
+    }
+}
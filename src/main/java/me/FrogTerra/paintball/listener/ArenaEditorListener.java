@@ -10,6 +10,7 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.persistence.PersistentDataType;
 
@@ -70,6 +71,11 @@ public class ArenaEditorListener implements Listener {
         }
     }
 
+    @EventHandler
+    public void onPlayerQuit(final PlayerQuitEvent event) {
+        this.arenaEditor.handleQuit(event.getPlayer());
+    }
+
     @EventHandler
     public void onArmorStandDamage(final EntityDamageByEntityEvent event) {
         if (!(event.getEntity() instanceof ArmorStand armorStand)) {
@@ -0,0 +1,79 @@
+package me.FrogTerra.paintball.listener;
+
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import me.FrogTerra.paintball.Paintball;
+import me.FrogTerra.paintball.arena.ArenaManager;
+import me.FrogTerra.paintball.arena.LoadedArena;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.block.Block;
+import org.bukkit.entity.ArmorStand;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.persistence.PersistentDataType;
+
+/**
+ * Keeps the loaded arenas' occupancy and tracked entities in sync with the arena world
+ */
+public class ArenaListener implements Listener {
+
+    private final Paintball plugin;
+    private final NamespacedKey spawnTypeKey;
+
+    public ArenaListener(Paintball plugin) {
+        this.plugin = plugin;
+        this.spawnTypeKey = new NamespacedKey(plugin, "spawn_type");
+    }
+
+    @EventHandler
+    public void onEntityAddToWorld(final EntityAddToWorldEvent event) {
+        if (!(event.getEntity() instanceof ArmorStand armorStand)) return;
+        if (!armorStand.getWorld().equals(this.plugin.getWorldManager().getArenaWorld())) return;
+
+        // Spawn markers arrive with the pasted schematic, register them in the slot they were pasted into
+        final String spawnType = armorStand.getPersistentDataContainer().get(this.spawnTypeKey, PersistentDataType.STRING);
+        if (spawnType != null) {
+            this.plugin.getArenaManager().getEntityRegistry().trackMarker(ArenaManager.getSlotAt(armorStand.getLocation().getBlockX()),
+                    armorStand, spawnType);
+        }
+    }
+
+    @EventHandler
+    public void onEntityRemoveFromWorld(final EntityRemoveFromWorldEvent event) {
+        this.plugin.getArenaManager().getEntityRegistry().untrack(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(final BlockPlaceEvent event) {
+        final Material type = event.getBlockPlaced().getType();
+        this.updateBlock(event.getBlockPlaced(), type.isSolid(), type.isSolid() && type.isOccluding());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(final BlockBreakEvent event) {
+        this.updateBlock(event.getBlock(), false, false);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(final BlockExplodeEvent event) {
+        event.blockList().forEach(block -> this.updateBlock(block, false, false));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(final EntityExplodeEvent event) {
+        event.blockList().forEach(block -> this.updateBlock(block, false, false));
+    }
+
+    private void updateBlock(final Block block, final boolean solid, final boolean paintable) {
+        final LoadedArena loadedArena = this.plugin.getArenaManager().getLoadedArenaAt(block.getWorld(), block.getX());
+        if (loadedArena == null) return;
+
+        loadedArena.getOccupancy().update(block.getX(), block.getY(), block.getZ(), solid, paintable);
+    }
+}
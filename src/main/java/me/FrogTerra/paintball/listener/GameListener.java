@@ -0,0 +1,100 @@
+package me.FrogTerra.paintball.listener;
+
+import io.papermc.paper.event.packet.PlayerChunkLoadEvent;
+import me.FrogTerra.paintball.Paintball;
+import me.FrogTerra.paintball.game.GameInstance;
+import me.FrogTerra.paintball.game.GameState;
+import me.FrogTerra.paintball.item.WeaponDefinition;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.EquipmentSlot;
+
+/**
+ * Routes combat events of match participants to their match
+ */
+public class GameListener implements Listener {
+
+    private final Paintball plugin;
+
+    public GameListener(Paintball plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onPlayerInteract(final PlayerInteractEvent event) {
+        if (event.getHand() != EquipmentSlot.HAND || !event.getAction().isRightClick()) return;
+
+        final WeaponDefinition weapon = this.plugin.getItemRegistery().getWeaponRegistry().get(event.getItem());
+        if (weapon == null) return;
+
+        final GameInstance game = this.plugin.getGameManager().getGame(event.getPlayer());
+        if (game == null) return;
+
+        // Guns never use their vanilla behaviour in a match
+        event.setUseItemInHand(Event.Result.DENY);
+        event.setUseInteractedBlock(Event.Result.DENY);
+        game.fire(event.getPlayer(), weapon);
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onSwapHands(final PlayerSwapHandItemsEvent event) {
+        // The swap hands key reloads while holding a gun
+        if (this.plugin.getItemRegistery().getWeaponRegistry().get(event.getPlayer().getInventory().getItemInMainHand()) == null) return;
+
+        final GameInstance game = this.plugin.getGameManager().getGame(event.getPlayer());
+        if (game == null) return;
+
+        event.setCancelled(true);
+        game.reload(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onChunkLoad(final PlayerChunkLoadEvent event) {
+        // Fresh chunk data overwrites client-side paint
+        final GameInstance game = this.plugin.getGameManager().getGame(event.getPlayer());
+        if (game == null) return;
+
+        game.resendPaint(event.getPlayer(), event.getChunk().getX(), event.getChunk().getZ());
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPlayerDamage(final EntityDamageEvent event) {
+        if (!(event.getEntity() instanceof Player victim)) return;
+
+        final GameInstance game = this.plugin.getGameManager().getGame(victim);
+        if (game == null) return;
+
+        // Nobody takes damage while players are staged or the match is wrapping up
+        if (game.getGameState() != GameState.ACTIVE) {
+            event.setCancelled(true);
+            return;
+        }
+
+        // Players never actually die in a match, a lethal hit eliminates them instead
+        if (event.getFinalDamage() < victim.getHealth()) return;
+
+        event.setCancelled(true);
+        game.handleElimination(victim, this.getAttacker(event));
+    }
+
+    /**
+     * Get the player responsible for the damage, or null
+     */
+    private Player getAttacker(final EntityDamageEvent event) {
+        if (!(event instanceof EntityDamageByEntityEvent byEntity)) return null;
+
+        final Entity damager = byEntity.getDamager();
+        if (damager instanceof Player player) return player;
+        if (damager instanceof Projectile projectile && projectile.getShooter() instanceof Player shooter) return shooter;
+        return null;
+    }
+}
@@ -1,6 +1,7 @@
 package me.FrogTerra.paintball.listener;
 
 import me.FrogTerra.paintball.Paintball;
+import me.FrogTerra.paintball.game.GameInstance;
 import me.FrogTerra.paintball.utility.MessageUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -50,6 +51,12 @@ public class PlayerListener implements Listener {
     @EventHandler
     public void onPlayerQuit(final PlayerQuitEvent event) {
         final Player player = event.getPlayer();
+
+        // Take the quitter out of their match, which may end it
+        final GameInstance game = this.plugin.getGameManager().getGame(player);
+        if (game != null) {
+            game.handleQuit(player);
+        }
     }
 
 }
@@ -199,6 +199,13 @@ public final class PlayerProfile {
         return 5.0 - (this.reloadSpeedLevel * 0.5); // 5.0 base - 0.5 per level (min 3.0)
     }
 
+    /**
+     * Get current grenade cooldown in seconds based on upgrades
+     */
+    public double getCurrentGrenadeCooldown() {
+        return 20.0 - (this.grenadeCooldownLevel * 2.0); // 20.0 base - 2.0 per level (min 10.0)
+    }
+
     /**
      * Inner class for gamemode-specific statistics
      */
@@ -0,0 +1,162 @@
+package me.FrogTerra.paintball.utility;
+
+import lombok.Getter;
+import me.FrogTerra.paintball.Paintball;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Moves groups of players with asynchronous teleports spread over several ticks.
+ * Destination chunks are requested as soon as a batch is submitted, and at most
+ * {@link #TELEPORTS_PER_TICK} teleports are started each tick, so a full match crossing worlds
+ * never lands in one tick. Must only be used from the main thread.
+ */
+public final class TeleportPipeline {
+
+    // Teleports started per tick across every batch
+    private static final int TELEPORTS_PER_TICK = 4;
+
+    private final Paintball plugin;
+    private final ArrayDeque<Request> queue = new ArrayDeque<>();
+    private long task = TimingWheel.NO_TIMER;
+
+    @Getter private long teleportedTotal = 0L;
+    @Getter private long failedTotal = 0L;
+    @Getter private long timedOutBatches = 0L;
+
+    public TeleportPipeline(final Paintball plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Teleport players to their destinations, pairing them by index.
+     * The future completes on the main thread once all of them have arrived or once the timeout runs out.
+     * Teleports still in flight at the timeout are reported as such and finish on their own; their
+     * late results are ignored.
+     */
+    public CompletableFuture<Result> teleport(final List<Player> players, final List<Location> destinations, final long timeoutTicks) {
+        final Batch batch = new Batch(players.size());
+        if (players.isEmpty()) {
+            batch.future.complete(new Result(Set.of(), Set.of()));
+            return batch.future;
+        }
+
+        // Warm the destination chunks while earlier players are still being moved
+        final Set<Long> prefetched = new HashSet<>();
+        for (int i = 0; i < players.size(); i++) {
+            final Location destination = destinations.get(i);
+            final World world = destination.getWorld();
+            if (world != null && prefetched.add(Chunk.getChunkKey(destination))) {
+                world.getChunkAtAsync(destination);
+            }
+            this.queue.add(new Request(players.get(i), destination, batch));
+        }
+
+        batch.timeout = this.plugin.getTimingWheel().schedule(timeoutTicks, () -> {
+            if (batch.future.isDone()) return;
+            this.timedOutBatches++;
+            this.plugin.logWarning("Teleport batch timed out with " + batch.remaining + " of " + batch.size + " players outstanding");
+            batch.future.complete(new Result(Set.copyOf(batch.arrived), Set.copyOf(batch.inFlight)));
+        });
+
+        if (this.task == TimingWheel.NO_TIMER) {
+            this.task = this.plugin.getTimingWheel().scheduleRepeating(1L, 1L, this::tick);
+        }
+        return batch.future;
+    }
+
+    /**
+     * Get the number of teleports waiting for their turn
+     */
+    public int getQueued() {
+        return this.queue.size();
+    }
+
+    private void tick() {
+        for (int started = 0; started < TELEPORTS_PER_TICK && !this.queue.isEmpty(); ) {
+            final Request request = this.queue.poll();
+            if (request.batch.future.isDone()) continue;
+
+            if (!request.player.isOnline()) {
+                this.complete(request, false);
+                continue;
+            }
+
+            started++;
+            request.batch.inFlight.add(request.player.getUniqueId());
+            request.player.teleportAsync(request.destination).whenComplete((success, throwable) -> {
+                if (Bukkit.isPrimaryThread()) {
+                    this.complete(request, throwable == null && success);
+                } else {
+                    Bukkit.getScheduler().runTask(this.plugin, () -> this.complete(request, throwable == null && success));
+                }
+            });
+        }
+
+        if (this.queue.isEmpty()) {
+            this.plugin.getTimingWheel().cancel(this.task);
+            this.task = TimingWheel.NO_TIMER;
+        }
+    }
+
+    private void complete(final Request request, final boolean success) {
+        final Batch batch = request.batch;
+        batch.inFlight.remove(request.player.getUniqueId());
+        if (success) {
+            this.teleportedTotal++;
+        } else {
+            this.failedTotal++;
+        }
+
+        // The caller has already moved on from a timed out batch
+        if (batch.future.isDone()) return;
+
+        if (success) {
+            batch.arrived.add(request.player.getUniqueId());
+        }
+        if (--batch.remaining == 0) {
+            this.plugin.getTimingWheel().cancel(batch.timeout);
+            batch.future.complete(new Result(Set.copyOf(batch.arrived), Set.of()));
+        }
+    }
+
+    /**
+     * Outcome of a batch: the players that arrived, and those whose teleport was still in flight at the timeout
+     */
+    public record Result(Set<UUID> arrived, Set<UUID> inFlight) {
+
+        /**
+         * Check if a player was neither moved nor is still being moved, and is left to the caller
+         */
+        public boolean isStraggler(final UUID playerId) {
+            return !this.arrived.contains(playerId) && !this.inFlight.contains(playerId);
+        }
+    }
+
+    private record Request(Player player, Location destination, Batch batch) {
+    }
+
+    private static final class Batch {
+        private final int size;
+        private final Set<UUID> arrived = new HashSet<>();
+        private final Set<UUID> inFlight = new HashSet<>();
+        private final CompletableFuture<Result> future = new CompletableFuture<>();
+        private int remaining;
+        private long timeout = TimingWheel.NO_TIMER;
+
+        private Batch(final int size) {
+            this.size = size;
+            this.remaining = size;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package me.FrogTerra.paintball.utility;
+
+import lombok.Getter;
+import me.FrogTerra.paintball.Paintball;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Arrays;
+
+/**
+ * Hashed timing wheel driven by one repeating task, shared by every match timer, respawn and cooldown.
+ * Timers live in parallel arrays linked into per-slot lists, so scheduling and cancelling are O(1)
+ * and a tick only visits the timers hashed to the current slot.
+ * Handles pack a generation with the timer index, so a stale handle can never cancel a reused timer.
+ * Must only be used from the main thread.
+ */
+public final class TimingWheel {
+
+    // Handle value that never refers to a timer
+    public static final long NO_TIMER = 0L;
+
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int NONE = -1;
+
+    private final Paintball plugin;
+    private final int[] wheel = new int[WHEEL_SIZE];
+
+    private Runnable[] tasks = new Runnable[64];
+    private long[] deadlines = new long[64];
+    private long[] periods = new long[64];
+    private int[] generations = new int[64];
+    private int[] next = new int[64];
+    private int[] previous = new int[64];
+    private int[] firing = new int[64];
+    private int[] firingGenerations = new int[64];
+
+    private int freeHead = NONE;
+    private int allocated = 0;
+    private long currentTick = 0L;
+    private BukkitTask task;
+
+    @Getter private int liveTimers = 0;
+    @Getter private int peakLiveTimers = 0;
+    @Getter private long scheduledTotal = 0L;
+    @Getter private long firedTotal = 0L;
+
+    public TimingWheel(final Paintball plugin) {
+        this.plugin = plugin;
+        Arrays.fill(this.wheel, NONE);
+    }
+
+    /**
+     * Start advancing the wheel once per server tick
+     */
+    public void start() {
+        if (this.task == null) {
+            this.task = Bukkit.getScheduler().runTaskTimer(this.plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Stop the wheel, pending timers are dropped without running
+     */
+    public void stop() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+        for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+            int index = this.wheel[slot];
+            while (index != NONE) {
+                final int following = this.next[index];
+                this.release(index);
+                index = following;
+            }
+            this.wheel[slot] = NONE;
+        }
+    }
+
+    /**
+     * Run a task once after a delay
+     *
+     * @return a handle for {@link #cancel(long)}
+     */
+    public long schedule(final long delayTicks, final Runnable runnable) {
+        return this.schedule(delayTicks, 0L, runnable);
+    }
+
+    /**
+     * Run a task after a delay and then every period ticks until cancelled.
+     * The handle stays valid across repetitions.
+     */
+    public long scheduleRepeating(final long delayTicks, final long periodTicks, final Runnable runnable) {
+        if (periodTicks <= 0L) {
+            throw new IllegalArgumentException("Period must be positive: " + periodTicks);
+        }
+        return this.schedule(delayTicks, periodTicks, runnable);
+    }
+
+    private long schedule(final long delayTicks, final long periodTicks, final Runnable runnable) {
+        final int index = this.allocate();
+        this.tasks[index] = runnable;
+        this.periods[index] = periodTicks;
+        this.insert(index, this.currentTick + Math.max(1L, delayTicks));
+
+        this.liveTimers++;
+        this.peakLiveTimers = Math.max(this.peakLiveTimers, this.liveTimers);
+        this.scheduledTotal++;
+        return ((long) this.generations[index] << 32) | index;
+    }
+
+    /**
+     * Cancel a pending timer
+     *
+     * @return true if the timer was still pending
+     */
+    public boolean cancel(final long handle) {
+        final int index = this.resolve(handle);
+        if (index == NONE) return false;
+
+        this.unlink(index);
+        this.release(index);
+        return true;
+    }
+
+    /**
+     * Check if a timer has not fired or been cancelled yet
+     */
+    public boolean isPending(final long handle) {
+        return this.resolve(handle) != NONE;
+    }
+
+    /**
+     * Get the ticks left until a timer fires, or -1 if it is not pending
+     */
+    public long getRemainingTicks(final long handle) {
+        final int index = this.resolve(handle);
+        return index == NONE ? -1L : this.deadlines[index] - this.currentTick;
+    }
+
+    /**
+     * Get the current tick of the wheel
+     */
+    public long getCurrentTick() {
+        return this.currentTick;
+    }
+
+    private void tick() {
+        this.currentTick++;
+        final int slot = (int) (this.currentTick & WHEEL_MASK);
+
+        // Collect due timers first so tasks can freely schedule and cancel while the batch runs
+        int due = 0;
+        int index = this.wheel[slot];
+        while (index != NONE) {
+            final int following = this.next[index];
+            if (this.deadlines[index] <= this.currentTick) {
+                this.unlink(index);
+                if (due == this.firing.length) {
+                    this.firing = Arrays.copyOf(this.firing, due * 2);
+                    this.firingGenerations = Arrays.copyOf(this.firingGenerations, due * 2);
+                }
+                this.firing[due] = index;
+                this.firingGenerations[due++] = this.generations[index];
+            }
+            index = following;
+        }
+
+        for (int i = 0; i < due; i++) {
+            final int timer = this.firing[i];
+            final int generation = this.firingGenerations[i];
+            // An earlier task in this batch may have cancelled it
+            if (this.generations[timer] != generation || this.tasks[timer] == null) continue;
+
+            final Runnable runnable = this.tasks[timer];
+
+            if (this.periods[timer] > 0L) {
+                this.insert(timer, this.currentTick + this.periods[timer]);
+            } else {
+                this.release(timer);
+            }
+
+            this.firedTotal++;
+            try {
+                runnable.run();
+            } catch (final Exception exception) {
+                this.plugin.logError("Timer task failed", exception);
+                // A failing repeating timer is not retried forever
+                if (this.generations[timer] == generation && this.tasks[timer] == runnable) {
+                    this.unlink(timer);
+                    this.release(timer);
+                }
+            }
+        }
+    }
+
+    private int resolve(final long handle) {
+        final int index = (int) handle;
+        final int generation = (int) (handle >>> 32);
+        if (index < 0 || index >= this.allocated || this.tasks[index] == null || this.generations[index] != generation) {
+            return NONE;
+        }
+        return index;
+    }
+
+    private void insert(final int index, final long deadline) {
+        final int slot = (int) (deadline & WHEEL_MASK);
+        this.deadlines[index] = deadline;
+        this.previous[index] = NONE;
+        this.next[index] = this.wheel[slot];
+        if (this.wheel[slot] != NONE) {
+            this.previous[this.wheel[slot]] = index;
+        }
+        this.wheel[slot] = index;
+    }
+
+    private void unlink(final int index) {
+        final int before = this.previous[index];
+        final int after = this.next[index];
+        if (before != NONE) {
+            this.next[before] = after;
+        } else {
+            final int slot = (int) (this.deadlines[index] & WHEEL_MASK);
+            if (this.wheel[slot] == index) {
+                this.wheel[slot] = after;
+            }
+        }
+        if (after != NONE) {
+            this.previous[after] = before;
+        }
+        this.next[index] = NONE;
+        this.previous[index] = NONE;
+    }
+
+    private int allocate() {
+        if (this.freeHead != NONE) {
+            final int index = this.freeHead;
+            this.freeHead = this.next[index];
+            return index;
+        }
+
+        if (this.allocated == this.tasks.length) {
+            final int capacity = this.tasks.length * 2;
+            this.tasks = Arrays.copyOf(this.tasks, capacity);
+            this.deadlines = Arrays.copyOf(this.deadlines, capacity);
+            this.periods = Arrays.copyOf(this.periods, capacity);
+            this.generations = Arrays.copyOf(this.generations, capacity);
+            this.next = Arrays.copyOf(this.next, capacity);
+            this.previous = Arrays.copyOf(this.previous, capacity);
+        }
+
+        // Generation 0 is never handed out, so a handle is never NO_TIMER
+        this.generations[this.allocated] = 1;
+        return this.allocated++;
+    }
+
+    private void release(final int index) {
+        this.tasks[index] = null;
+        this.periods[index] = 0L;
+        this.generations[index] = Math.max(1, this.generations[index] + 1);
+        this.next[index] = this.freeHead;
+        this.previous[index] = NONE;
+        this.freeHead = index;
+        this.liveTimers--;
+    }
+}
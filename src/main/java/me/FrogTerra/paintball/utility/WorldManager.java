@@ -87,6 +87,19 @@ public final class WorldManager {
             return null;
         }
     }
+
+    /**
+     * Get the lobby spawn, or null if the lobby world is missing
+     */
+    public Location getLobbySpawn() {
+        if (this.lobbyWorld == null) return null;
+
+        final Location spawnLocation = this.lobbyWorld.getSpawnLocation();
+        // Ensure spawn location is safe
+        spawnLocation.setY(Math.max(spawnLocation.getY(), 64));
+        return spawnLocation;
+    }
+
     /**
      * Teleport player to lobby world spawn
      */
@@ -97,10 +110,7 @@ public final class WorldManager {
         }
 
         try {
-            final Location spawnLocation = this.lobbyWorld.getSpawnLocation();
-            // Ensure spawn location is safe
-            spawnLocation.setY(Math.max(spawnLocation.getY(), 64));
-
+            final Location spawnLocation = this.getLobbySpawn();
             final boolean success = player.teleport(spawnLocation);
             if (success) {
                 this.plugin.logInfo("Teleported " + player.getName() + " to lobby");